@@ -0,0 +1,90 @@
+// k6 load test for the ride API.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e VUS=200 load-test/rides-load.js
+//
+// Run it once against the default (platform thread) mode and once with
+// spring.threads.virtual.enabled=true on Java 21, at today's concurrency and at 10x (VUS).
+// Compare the http_req_duration p(95)/p(99) figures and the server's
+// mongodb.driver.pool.checkedout / tomcat thread metrics between the runs.
+//
+// Start the server with rate limiting off (--rate-limit.enabled=false or -Drate-limit.enabled=false).
+// The default rules would reject most of this load: every VU registers and logs in from the same IP
+// (auth: 10 per IP, then one every 5s), and the loops below run without think time, well above the
+// per-driver pending-list limit (2/s) and the per-caller API limit (20/s). The script aborts if a
+// login is rate limited rather than reporting 429s as latency results.
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const VUS = parseInt(__ENV.VUS || '100', 10);
+const DURATION = __ENV.DURATION || '2m';
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+    scenarios: {
+        riders: {
+            executor: 'constant-vus',
+            vus: Math.max(1, Math.floor(VUS / 2)),
+            duration: DURATION,
+            exec: 'rider',
+        },
+        drivers: {
+            executor: 'constant-vus',
+            vus: Math.max(1, Math.ceil(VUS / 2)),
+            duration: DURATION,
+            exec: 'driver',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1000'],
+    },
+};
+
+function login(username, role) {
+    const credentials = JSON.stringify({ username, password: 'load-test-password', role });
+    http.post(`${BASE_URL}/api/auth/register`, credentials, { headers: JSON_HEADERS });
+    const response = http.post(`${BASE_URL}/api/auth/login`, credentials, { headers: JSON_HEADERS });
+    if (response.status === 429) {
+        exec.test.abort('Login was rate limited; start the server with --rate-limit.enabled=false');
+    }
+    return { Authorization: `Bearer ${response.json('token')}`, 'Content-Type': 'application/json' };
+}
+
+const sessions = {};
+
+function session(role) {
+    const key = `${role}-${exec.vu.idInTest}`;
+    if (!sessions[key]) {
+        sessions[key] = login(`load-${key}`, role);
+    }
+    return sessions[key];
+}
+
+export function rider() {
+    const headers = session('ROLE_USER');
+    const created = http.post(`${BASE_URL}/api/v1/rides`, JSON.stringify({
+        pickupLocation: 'Load test pickup',
+        dropLocation: 'Load test drop',
+        pickupLatitude: 40.7 + Math.random() * 0.1,
+        pickupLongitude: -74.0 + Math.random() * 0.1,
+    }), { headers });
+    check(created, { 'ride created': (r) => r.status === 201 });
+
+    const history = http.get(`${BASE_URL}/api/v1/user/rides?limit=20`, { headers });
+    check(history, { 'history listed': (r) => r.status === 200 });
+}
+
+export function driver() {
+    const headers = session('ROLE_DRIVER');
+    const pending = http.get(`${BASE_URL}/api/v1/driver/rides/requests?limit=20`, { headers });
+    check(pending, { 'pending listed': (r) => r.status === 200 });
+
+    const rides = pending.status === 200 ? pending.json() : [];
+    if (rides.length > 0) {
+        const ride = rides[Math.floor(Math.random() * rides.length)];
+        const accepted = http.post(`${BASE_URL}/api/v1/driver/rides/${ride.id}/accept`, null, { headers });
+        check(accepted, { 'accept answered': (r) => r.status === 200 || r.status === 409 });
+    }
+}
@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Startup time and resident memory of the application in each launch mode.
+#
+#   mvn -Paot,cds package -DskipTests          # jar with AOT classes, target/cds + application.jsa
+#   mvn -Pnative native:compile -DskipTests     # optional, needs GraalVM: target/rideshare
+#   load-test/startup-compare.sh [runs]
+#
+# Each mode is started `runs` times (default 5). The script reports the median "Started ... in N seconds"
+# figure and the median RSS once started. MongoDB is not needed: startup index creation and the query plan
+# check are switched off, and the connection pool connects lazily.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18081}
+JAR=$(ls target/SpringBoot_project-*.jar | grep -v original | head -n 1)
+CDS_JAR=target/cds/$(basename "$JAR")
+APP_ARGS="--server.port=$PORT --rides.mongodb.create-indexes=false --rides.mongodb.query-plan-check=off"
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+measure() {
+    local mode=$1; shift
+    local times=() rss=()
+    for _ in $(seq "$RUNS"); do
+        local log; log=$(mktemp)
+        "$@" $APP_ARGS > "$log" 2>&1 &
+        local pid=$!
+        until grep -q "Started RideShareApplication" "$log"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$mode: application exited, see $log" >&2
+                return 1
+            fi
+            sleep 0.1
+        done
+        times+=("$(sed -n 's/.*Started RideShareApplication in \([0-9.]*\) seconds.*/\1/p' "$log")")
+        rss+=("$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")")
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+        rm -f "$log"
+    done
+    printf '%-8s %10s s %10s MB\n' "$mode" \
+        "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rss[@]}" | median)"
+}
+
+printf '%-8s %12s %13s\n' mode startup rss
+measure jvm java -jar "$JAR"
+if [ -d target/spring-aot ]; then
+    measure aot java -Dspring.aot.enabled=true -jar "$JAR"
+fi
+if [ -f target/cds/application.jsa ]; then
+    AOT_FLAG=$([ -d target/spring-aot ] && echo "-Dspring.aot.enabled=true" || echo "-Dspring.aot.enabled=false")
+    measure cds java -XX:SharedArchiveFile=target/cds/application.jsa "$AOT_FLAG" -jar "$CDS_JAR"
+fi
+if [ -x target/rideshare ]; then
+    measure native target/rideshare
+fi
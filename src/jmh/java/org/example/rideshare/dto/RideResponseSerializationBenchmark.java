@@ -0,0 +1,59 @@
+package org.example.rideshare.dto;
+
+import org.example.rideshare.service.RideMappingBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of ride lists with the same Jackson 3 mapper family Spring MVC and WebFlux use.
+ * Sizes cover a single ride, the default and maximum page, and an unpaged history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RideResponseSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<RideResponse> rides;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writer();
+        rides = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RideResponse ride = new RideResponse();
+            ride.setId(String.format("%024x", i));
+            ride.setUserId("user-" + (i % 100));
+            ride.setDriverId("driver-" + (i % 20));
+            ride.setPickupLocation("Pickup street " + i);
+            ride.setDropLocation("Drop avenue " + i);
+            ride.setPickupLatitude(12.9716);
+            ride.setPickupLongitude(77.5946);
+            ride.setDropLatitude(12.9784);
+            ride.setDropLongitude(77.6412);
+            ride.setStatus("ACCEPTED");
+            ride.setCreatedAt(RideMappingBenchmark.sampleRide(i).getCreatedAt());
+            rides.add(ride);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return writer.writeValueAsBytes(rides);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.service.RideMappingBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of turning ride documents, as raw BSON off the wire, into {@link RideResponse}s.
+ * {@code entityPath} is the previous list path: decode a {@code Document}, map it to a {@link Ride}
+ * entity, copy into the response. {@code projectionPath} decodes the projected document straight
+ * into the response with {@link RideResponseCodec}. Run with {@code -prof gc} for bytes per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RideReadPathBenchmark {
+
+    private static final int ROWS = 100;
+
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+
+    private MappingMongoConverter converter;
+    private DocumentCodec documentCodec;
+    private RideResponseCodec rideResponseCodec;
+    private List<RawBsonDocument> storedRides;
+    private List<RawBsonDocument> projectedRides;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        documentCodec = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+        rideResponseCodec = new RideResponseCodec();
+        storedRides = new ArrayList<>(ROWS);
+        projectedRides = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Document stored = new Document();
+            converter.write(RideMappingBenchmark.sampleRide(i), stored);
+            storedRides.add(new RawBsonDocument(stored, documentCodec));
+            stored.remove("_class");
+            projectedRides.add(new RawBsonDocument(stored, documentCodec));
+        }
+        verifySamePayload();
+    }
+
+    // Both paths must produce identical responses, otherwise the comparison is meaningless
+    private void verifySamePayload() {
+        for (int i = 0; i < ROWS; i++) {
+            Ride ride = converter.read(Ride.class, documentCodec.decode(reader(storedRides.get(i)), decoderContext));
+            RideResponse viaEntity = RideMappingBenchmark.toResponse(ride);
+            RideResponse viaCodec = rideResponseCodec.decode(reader(projectedRides.get(i)), decoderContext);
+            if (!viaEntity.equals(viaCodec)) {
+                throw new IllegalStateException("Read paths disagree: " + viaEntity + " vs " + viaCodec);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void entityPath(Blackhole blackhole) {
+        for (RawBsonDocument raw : storedRides) {
+            Document document = documentCodec.decode(reader(raw), decoderContext);
+            Ride ride = converter.read(Ride.class, document);
+            blackhole.consume(RideMappingBenchmark.toResponse(ride));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void projectionPath(Blackhole blackhole) {
+        for (RawBsonDocument raw : projectedRides) {
+            blackhole.consume(rideResponseCodec.decode(reader(raw), decoderContext));
+        }
+    }
+
+    private static BsonBinaryReader reader(RawBsonDocument raw) {
+        return new BsonBinaryReader(raw.getByteBuffer().asNIO());
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching cost of one dispatch batch of {@code size} rides and {@code size} drivers scattered over a
+ * 20 km square, for choosing {@code rides.dispatch.optimal-max-pairs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DispatchMatcherBenchmark {
+
+    private static final double MAX_DISTANCE_METERS = 10_000;
+    private static final double AREA_DEGREES = 0.18;
+
+    @Param({"8", "64", "256"})
+    private int size;
+
+    private List<RideResponse> rides;
+    private List<AvailableDriver> drivers;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rides = new ArrayList<>(size);
+        drivers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rides.add(new RideResponse("ride-" + i, "rider-" + i, null, "A", "B",
+                    random.nextDouble(AREA_DEGREES), random.nextDouble(AREA_DEGREES), null, null,
+                    RideService.STATUS_REQUESTED, new Date(i)));
+            drivers.add(new AvailableDriver("driver-" + i,
+                    random.nextDouble(AREA_DEGREES), random.nextDouble(AREA_DEGREES), Instant.EPOCH));
+        }
+    }
+
+    @Benchmark
+    public List<DispatchMatcher.Assignment> greedy() {
+        return DispatchMatcher.match(rides, drivers, DispatchMatcher.Algorithm.GREEDY, MAX_DISTANCE_METERS);
+    }
+
+    @Benchmark
+    public List<DispatchMatcher.Assignment> optimal() {
+        return DispatchMatcher.match(rides, drivers, DispatchMatcher.Algorithm.OPTIMAL, MAX_DISTANCE_METERS);
+    }
+}
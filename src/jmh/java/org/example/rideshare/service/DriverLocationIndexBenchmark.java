@@ -0,0 +1,67 @@
+package org.example.rideshare.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Location report throughput and nearby-driver lookup latency of the in-memory grid, with {@code drivers}
+ * drivers spread over a 20 km square. Run with {@code -t <threads>} to measure concurrent reporting.
+ */
+@State(Scope.Benchmark)
+public class DriverLocationIndexBenchmark {
+
+    private static final double AREA_DEGREES = 0.18;
+    private static final double ORIGIN_LATITUDE = 12.9;
+    private static final double ORIGIN_LONGITUDE = 77.5;
+
+    @Param({"10000", "100000"})
+    private int drivers;
+
+    @Param({"500"})
+    private double cellSizeMeters;
+
+    private DriverLocationIndex index;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup
+    public void setUp() {
+        index = new DriverLocationIndex(Clock.systemUTC(), cellSizeMeters, 60, MeterRegistries.create("prometheus"));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < drivers; i++) {
+            index.report("driver-" + i, ORIGIN_LATITUDE + random.nextDouble(AREA_DEGREES),
+                    ORIGIN_LONGITUDE + random.nextDouble(AREA_DEGREES));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void report(Caller caller) {
+        index.report("driver-" + caller.random.nextInt(drivers),
+                ORIGIN_LATITUDE + caller.random.nextDouble(AREA_DEGREES),
+                ORIGIN_LONGITUDE + caller.random.nextDouble(AREA_DEGREES));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<DriverLocationIndex.NearbyDriver> nearby2km(Caller caller) {
+        return index.findNearby(ORIGIN_LATITUDE + caller.random.nextDouble(AREA_DEGREES),
+                ORIGIN_LONGITUDE + caller.random.nextDouble(AREA_DEGREES), 2_000, 20);
+    }
+}
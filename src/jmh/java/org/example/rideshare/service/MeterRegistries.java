@@ -0,0 +1,40 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Registries for instrumentation-overhead benchmarks: {@code noop} is an empty composite (meters do nothing),
+ * {@code prometheus} matches production, including the percentile histograms from application.properties.
+ */
+public final class MeterRegistries {
+
+    private MeterRegistries() {
+    }
+
+    public static MeterRegistry create(String type) {
+        return switch (type) {
+            case "noop" -> new CompositeMeterRegistry();
+            case "prometheus" -> withHistograms(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+            default -> throw new IllegalArgumentException("Unknown registry type " + type);
+        };
+    }
+
+    private static MeterRegistry withHistograms(MeterRegistry registry) {
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        return registry;
+    }
+}
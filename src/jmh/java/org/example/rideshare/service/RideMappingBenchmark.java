@@ -0,0 +1,55 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping done for every ride a read endpoint returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RideMappingBenchmark {
+
+    private Ride ride;
+
+    @Setup
+    public void setUp() {
+        ride = sampleRide(0);
+    }
+
+    @Benchmark
+    public RideResponse mapRideToResponse() {
+        return RideService.mapRideToResponse(ride);
+    }
+
+    // Exposes the package-private mapping to benchmarks in other packages
+    public static RideResponse toResponse(Ride ride) {
+        return RideService.mapRideToResponse(ride);
+    }
+
+    public static Ride sampleRide(int index) {
+        Ride ride = new Ride();
+        ride.setId(String.format("%024x", index));
+        ride.setUserId("user-" + (index % 100));
+        ride.setDriverId("driver-" + (index % 20));
+        ride.setPickupLocation("Pickup street " + index);
+        ride.setDropLocation("Drop avenue " + index);
+        ride.setPickupCoordinates(new GeoJsonPoint(77.5946, 12.9716));
+        ride.setDropCoordinates(new GeoJsonPoint(77.6412, 12.9784));
+        ride.setStatus(RideService.STATUS_ACCEPTED);
+        ride.setCreatedAt(new Date(1_700_000_000_000L + index * 1_000L));
+        return ride;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.repository.RideRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the ride service meters: the same {@code acceptRide} call against a no-op registry and
+ * against a Prometheus registry with histograms. The repository is an in-memory stub so the difference is
+ * the instrumentation itself. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RideServiceMetricsBenchmark {
+
+    @Param({"noop", "prometheus"})
+    private String registry;
+
+    private RideService rideService;
+
+    @Setup
+    public void setUp() {
+        Optional<Ride> acceptedRide = Optional.of(RideMappingBenchmark.sampleRide(1));
+        RideRepository rideRepository = (RideRepository) Proxy.newProxyInstance(
+                RideRepository.class.getClassLoader(),
+                new Class<?>[]{RideRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("assignDriverIfStatus")) {
+                        return acceptedRide;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        rideService = new RideService(rideRepository, null, null, null, null, event -> { }, MeterRegistries.create(registry));
+    }
+
+    @Benchmark
+    public RideResponse acceptRide() {
+        return rideService.acceptRide("ride-1", "driver-1");
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.rideshare.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.rideshare.service.MeterRegistries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of {@link JwtAuthenticationFilter#doFilterInternal} for an authenticated request,
+ * including building the {@code Authentication} and its web details. The {@code registry} parameter
+ * compares the verification timer against a no-op registry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"noop", "prometheus"})
+    private String registry;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(JwtUtilBenchmark.SECRET, JwtUtilBenchmark.EXPIRATION_MILLIS, 10_000);
+        String token = jwtUtil.generateToken(JwtUtilBenchmark.USERNAME, JwtUtilBenchmark.ROLE);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, MeterRegistries.create(registry));
+        request = new MockHttpServletRequest("GET", "/api/v1/rides");
+        request.addHeader("Authorization", "Bearer " + token);
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.rideshare.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost. {@code validateToken} is served from the verified-claims cache
+ * after the first call; {@code parseUncached} is the full signature check every request used to pay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    static final String SECRET = "MyVerySecureJWTSecretKeyForRideShareApplication2024MustBeAtLeast32BytesLong!";
+    static final long EXPIRATION_MILLIS = 86_400_000L;
+    static final String USERNAME = "bench-user";
+    static final String ROLE = "ROLE_USER";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION_MILLIS, 10_000);
+        token = jwtUtil.generateToken(USERNAME, ROLE);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(USERNAME, ROLE);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, USERNAME);
+    }
+
+    @Benchmark
+    public String parseUncached() {
+        return jwtUtil.extractClaim(token, Claims::getSubject);
+    }
+}
@@ -1,9 +1,14 @@
 package org.example.rideshare;
 
+import org.example.rideshare.config.RideShareRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(RideShareRuntimeHints.class)
 public class RideShareApplication {
 
     public static void main(String[] args) {
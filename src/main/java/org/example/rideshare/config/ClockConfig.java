@@ -0,0 +1,16 @@
+package org.example.rideshare.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Injected where time drives behaviour, so tests can substitute a simulated clock
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
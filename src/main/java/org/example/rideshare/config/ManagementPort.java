@@ -0,0 +1,30 @@
+package org.example.rideshare.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+/**
+ * The port actuator listens on when it is separate from the API port ({@code management.server.port}). Requests
+ * only count as arriving on it when the two ports differ, so setting them equal never opens actuator endpoints
+ * on the public port.
+ */
+@Component
+public class ManagementPort {
+
+    private final int port;
+
+    public ManagementPort(@Value("${management.server.port:-1}") int managementPort,
+                          @Value("${server.port:8080}") int serverPort) {
+        this.port = managementPort > 0 && managementPort != serverPort ? managementPort : -1;
+    }
+
+    public boolean matches(int localPort) {
+        return port > 0 && localPort == port;
+    }
+
+    public boolean matches(InetSocketAddress localAddress) {
+        return localAddress != null && matches(localAddress.getPort());
+    }
+}
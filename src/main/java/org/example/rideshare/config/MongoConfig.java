@@ -0,0 +1,30 @@
+package org.example.rideshare.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * The connection pool, not the request thread pool, is what bounds concurrent database work.
+     * With virtual threads there can be far more callers than connections, so callers wait a
+     * bounded time for a connection instead of queueing indefinitely.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${rides.mongodb.max-pool-size:100}") int maxPoolSize,
+            @Value("${rides.mongodb.min-pool-size:0}") int minPoolSize,
+            @Value("${rides.mongodb.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${rides.mongodb.max-connecting:2}") int maxConnecting) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .minSize(minPoolSize)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS)
+                .maxConnecting(maxConnecting));
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.rideshare.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rideshare.util.RateLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimiter(properties, meterRegistry, System::nanoTime);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.rideshare.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request rate limits applied in the security filter chain. The first rule whose path, method and role
+ * match a request applies; requests matching no rule are not limited.
+ *
+ * @param enabled     turns every rule off when false
+ * @param maxKeys     upper bound on (rule, caller) buckets held in memory
+ * @param idleTimeout buckets untouched for this long are dropped (a dropped bucket starts full again)
+ * @param rules       ordered rules; see {@link Rule}
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("10m") Duration idleTimeout,
+        List<Rule> rules) {
+
+    public RateLimitProperties {
+        rules = rules != null ? List.copyOf(rules) : List.of();
+    }
+
+    /**
+     * One limit. Authenticated callers get a bucket per username, anonymous callers one per client IP.
+     *
+     * @param name            reported as the {@code rule} tag of the rejection metric
+     * @param path            path pattern, e.g. {@code /api/auth/**}
+     * @param method          HTTP method to match, or any method when unset
+     * @param role            authority the caller must hold (e.g. {@code ROLE_DRIVER}), or any caller when unset
+     * @param capacity        requests allowed in a burst
+     * @param refillPerSecond sustained requests per second
+     */
+    public record Rule(String name, String path, String method, String role, long capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.rideshare.config;
+
+import org.example.rideshare.util.JwtUtil;
+import org.example.rideshare.util.RateLimiter;
+import org.example.rideshare.util.ReactiveJwtAuthenticationFilter;
+import org.example.rideshare.util.ReactiveRateLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * WebFlux counterpart of {@link SecurityConfig}: same public paths, stateless JWT authentication and rate limits.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private static final String AUTH_ENDPOINT_PATTERN = "/api/auth/**";
+    private static final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+                                                         RateLimiter rateLimiter, JsonMapper jsonMapper,
+                                                         ManagementPort managementPort) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptionConfig -> exceptionConfig
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN))
+                )
+                .authorizeExchange(authConfig -> authConfig
+                        .pathMatchers(AUTH_ENDPOINT_PATTERN).permitAll()
+                        // Scraped without a token, but only on the management port; elsewhere it needs a JWT
+                        .matchers(new AndServerWebExchangeMatcher(
+                                ServerWebExchangeMatchers.pathMatchers(PROMETHEUS_ENDPOINT),
+                                exchange -> managementPort.matches(exchange.getRequest().getLocalAddress())
+                                        ? ServerWebExchangeMatcher.MatchResult.match()
+                                        : ServerWebExchangeMatcher.MatchResult.notMatch())).permitAll()
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtUtil), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new ReactiveRateLimitFilter(rateLimiter, jsonMapper),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // Tokens are verified by the filter above; this only stops Boot from creating a default user store
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager() {
+        return authentication -> Mono.empty();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.rideshare.config;
+
+import org.example.rideshare.dto.AuthResponse;
+import org.example.rideshare.dto.CreateRideRequest;
+import org.example.rideshare.dto.DriverAvailabilityRequest;
+import org.example.rideshare.dto.DriverLocationRequest;
+import org.example.rideshare.dto.ErrorResponse;
+import org.example.rideshare.dto.LoginRequest;
+import org.example.rideshare.dto.NearbyDriverResponse;
+import org.example.rideshare.dto.RegisterRequest;
+import org.example.rideshare.dto.RidePage;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.DriverLocation;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.model.RideStats;
+import org.example.rideshare.model.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image that Spring's own AOT processing cannot infer.
+ * Repository proxies, query methods and controller signatures are contributed by Spring Data and
+ * Spring MVC/WebFlux; this covers what they do not see.
+ */
+public class RideShareRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt 0.11 instantiates its implementation classes by name from the API module
+    private static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec");
+
+    // ...and finds the JSON (jjwt-jackson) and compression codecs through ServiceLoader
+    private static final List<String> JJWT_SERVICE_FILES = List.of(
+            "META-INF/services/io.jsonwebtoken.io.Serializer",
+            "META-INF/services/io.jsonwebtoken.io.Deserializer",
+            "META-INF/services/io.jsonwebtoken.CompressionCodec");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Lombok generates the accessors the mapping layer and Jackson call reflectively
+        hints.reflection().registerTypes(List.of(TypeReference.of(Ride.class), TypeReference.of(User.class),
+                        TypeReference.of(DriverLocation.class), TypeReference.of(RideStats.class),
+                        TypeReference.of(RideStats.Hour.class)),
+                type -> type.withMembers(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.ACCESS_DECLARED_FIELDS));
+
+        // Written outside controller signatures too: the rate limit filters, SSE events and the NDJSON export
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                RideResponse.class, RidePage.class, ErrorResponse.class, AuthResponse.class,
+                CreateRideRequest.class, LoginRequest.class, RegisterRequest.class,
+                DriverAvailabilityRequest.class, DriverLocationRequest.class, NearbyDriverResponse.class);
+
+        JJWT_REFLECTIVE_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        JJWT_SERVICE_FILES.forEach(hints.resources()::registerPattern);
+    }
+}
@@ -1,6 +1,10 @@
 package org.example.rideshare.config;
 
+import jakarta.servlet.DispatcherType;
 import org.example.rideshare.util.JwtAuthenticationFilter;
+import org.example.rideshare.util.RateLimitFilter;
+import org.example.rideshare.util.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,22 +13,32 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     private static final String AUTH_ENDPOINT_PATTERN = "/api/auth/**";
+    private static final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
+    private final JsonMapper jsonMapper;
+    private final ManagementPort managementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimiter rateLimiter,
+                          JsonMapper jsonMapper, ManagementPort managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimiter = rateLimiter;
+        this.jsonMapper = jsonMapper;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -33,21 +47,24 @@ public class SecurityConfig {
                 .csrf(csrfConfig -> csrfConfig.disable())
                 .authorizeHttpRequests(authConfig -> authConfig
                         .requestMatchers(AUTH_ENDPOINT_PATTERN).permitAll()
+                        // Scraped without a token, but only on the management port; elsewhere it needs a JWT
+                        .requestMatchers(new AndRequestMatcher(
+                                PathPatternRequestMatcher.withDefaults().matcher(PROMETHEUS_ENDPOINT),
+                                request -> managementPort.matches(request.getLocalPort()))).permitAll()
+                        // Async dispatches (SSE, streaming bodies) continue a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sessionConfig -> sessionConfig
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Runs once the caller is known, so authenticated limits are per user rather than per IP
+                .addFilterAfter(new RateLimitFilter(rateLimiter, jsonMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
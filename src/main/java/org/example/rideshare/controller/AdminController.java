@@ -0,0 +1,47 @@
+package org.example.rideshare.controller;
+
+import org.example.rideshare.dto.RideStatsResponse;
+import org.example.rideshare.service.RideExportService;
+import org.example.rideshare.service.RideStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdminController {
+
+    private final RideExportService rideExportService;
+    private final RideStatistics rideStatistics;
+
+    public AdminController(RideExportService rideExportService, RideStatistics rideStatistics) {
+        this.rideExportService = rideExportService;
+        this.rideStatistics = rideStatistics;
+    }
+
+    @GetMapping(value = "/rides/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRides(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String driverId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        StreamingResponseBody body = rideExportService.exportRides(status, userId, driverId, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/rides/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RideStatsResponse> getRideStats() {
+        return ResponseEntity.ok(rideStatistics.snapshot());
+    }
+}
@@ -5,12 +5,14 @@ import org.example.rideshare.dto.AuthResponse;
 import org.example.rideshare.dto.LoginRequest;
 import org.example.rideshare.dto.RegisterRequest;
 import org.example.rideshare.service.AuthService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
     private final AuthService authService;
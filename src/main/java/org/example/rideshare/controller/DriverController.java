@@ -1,31 +1,115 @@
 package org.example.rideshare.controller;
 
+import jakarta.validation.Valid;
+import org.example.rideshare.dto.DriverAvailabilityRequest;
+import org.example.rideshare.dto.DriverLocationRequest;
+import org.example.rideshare.dto.DriverRideSummaryResponse;
+import org.example.rideshare.dto.RidePage;
 import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.service.DriverAvailabilityService;
+import org.example.rideshare.service.DriverLocationService;
+import org.example.rideshare.service.RideEventStreamService;
 import org.example.rideshare.service.RideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/driver")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class DriverController {
 
     private final RideService rideService;
+    private final RideEventStreamService rideEventStreamService;
+    private final DriverAvailabilityService driverAvailabilityService;
+    private final DriverLocationService driverLocationService;
 
-    public DriverController(RideService rideService) {
+    public DriverController(RideService rideService, RideEventStreamService rideEventStreamService,
+                            DriverAvailabilityService driverAvailabilityService,
+                            DriverLocationService driverLocationService) {
         this.rideService = rideService;
+        this.rideEventStreamService = rideEventStreamService;
+        this.driverAvailabilityService = driverAvailabilityService;
+        this.driverLocationService = driverLocationService;
+    }
+
+    @PutMapping("/availability")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<Void> updateAvailability(
+            @Valid @RequestBody DriverAvailabilityRequest request,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        driverAvailabilityService.updateAvailability(driverId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/location")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<Void> reportLocation(
+            @Valid @RequestBody DriverLocationRequest request,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        driverLocationService.reportLocation(driverId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/rides")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<List<RideResponse>> getDriverRides(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        RidePage page = rideService.getDriverRides(driverId, status, from, to, cursor, limit);
+        return RidePageResponses.toResponse(page);
+    }
+
+    @GetMapping("/rides/summary")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<DriverRideSummaryResponse> getDriverRideSummary(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return ResponseEntity.ok(rideService.getDriverRideSummary(driverId, from, to));
     }
 
     @GetMapping("/rides/requests")
     @PreAuthorize("hasRole('DRIVER')")
-    public ResponseEntity<List<RideResponse>> getPendingRideRequests() {
-        List<RideResponse> requests = rideService.getPendingRideRequests();
+    public ResponseEntity<List<RideResponse>> getPendingRideRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        RidePage page = rideService.getPendingRideRequests(cursor, limit);
+        return RidePageResponses.toResponse(page);
+    }
+
+    @GetMapping("/rides/requests/nearby")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<List<RideResponse>> getNearbyRideRequests(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5000") double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RideResponse> requests = rideService.getNearbyPendingRideRequests(latitude, longitude, radiusMeters, limit);
         return ResponseEntity.ok(requests);
     }
 
+    @GetMapping(value = "/rides/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('DRIVER')")
+    public SseEmitter streamRideEvents() {
+        return rideEventStreamService.subscribe();
+    }
+
     @PostMapping("/rides/{rideId}/accept")
     @PreAuthorize("hasRole('DRIVER')")
     public ResponseEntity<RideResponse> acceptRide(
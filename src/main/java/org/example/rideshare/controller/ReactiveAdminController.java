@@ -0,0 +1,47 @@
+package org.example.rideshare.controller;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.dto.RideStatsResponse;
+import org.example.rideshare.service.ReactiveRideExportService;
+import org.example.rideshare.service.RideStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdminController {
+
+    private final ReactiveRideExportService rideExportService;
+    private final RideStatistics rideStatistics;
+
+    public ReactiveAdminController(ReactiveRideExportService rideExportService, RideStatistics rideStatistics) {
+        this.rideExportService = rideExportService;
+        this.rideStatistics = rideStatistics;
+    }
+
+    @GetMapping(value = "/rides/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<RideResponse> exportRides(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String driverId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return rideExportService.exportRides(status, userId, driverId, from, to);
+    }
+
+    @GetMapping("/rides/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<RideStatsResponse>> getRideStats() {
+        return Mono.fromCallable(rideStatistics::snapshot)
+                .map(ResponseEntity::ok);
+    }
+}
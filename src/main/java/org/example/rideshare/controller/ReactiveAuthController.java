@@ -0,0 +1,36 @@
+package org.example.rideshare.controller;
+
+import jakarta.validation.Valid;
+import org.example.rideshare.dto.AuthResponse;
+import org.example.rideshare.dto.LoginRequest;
+import org.example.rideshare.dto.RegisterRequest;
+import org.example.rideshare.service.ReactiveAuthService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    public ReactiveAuthController(ReactiveAuthService authService) {
+        this.authService = authService;
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.rideshare.controller;
+
+import jakarta.validation.Valid;
+import org.example.rideshare.dto.DriverAvailabilityRequest;
+import org.example.rideshare.dto.DriverLocationRequest;
+import org.example.rideshare.dto.DriverRideSummaryResponse;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.service.DriverAvailabilityService;
+import org.example.rideshare.service.DriverLocationService;
+import org.example.rideshare.service.ReactiveRideEventStreamService;
+import org.example.rideshare.service.ReactiveRideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/driver")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDriverController {
+
+    private final ReactiveRideService rideService;
+    private final ReactiveRideEventStreamService rideEventStreamService;
+    private final DriverAvailabilityService driverAvailabilityService;
+    private final DriverLocationService driverLocationService;
+
+    public ReactiveDriverController(ReactiveRideService rideService,
+                                    ReactiveRideEventStreamService rideEventStreamService,
+                                    DriverAvailabilityService driverAvailabilityService,
+                                    DriverLocationService driverLocationService) {
+        this.rideService = rideService;
+        this.rideEventStreamService = rideEventStreamService;
+        this.driverAvailabilityService = driverAvailabilityService;
+        this.driverLocationService = driverLocationService;
+    }
+
+    @PutMapping("/availability")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<Void>> updateAvailability(
+            @Valid @RequestBody DriverAvailabilityRequest request,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return Mono.fromRunnable(() -> driverAvailabilityService.updateAvailability(driverId, request))
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping("/location")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<Void>> reportLocation(
+            @Valid @RequestBody DriverLocationRequest request,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return Mono.fromRunnable(() -> driverLocationService.reportLocation(driverId, request))
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/rides")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<List<RideResponse>>> getDriverRides(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return rideService.getDriverRides(driverId, status, from, to, cursor, limit)
+                .map(RidePageResponses::toResponse);
+    }
+
+    @GetMapping("/rides/summary")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<DriverRideSummaryResponse>> getDriverRideSummary(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return rideService.getDriverRideSummary(driverId, from, to)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/rides/requests")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<List<RideResponse>>> getPendingRideRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return rideService.getPendingRideRequests(cursor, limit)
+                .map(RidePageResponses::toResponse);
+    }
+
+    @GetMapping("/rides/requests/nearby")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<List<RideResponse>>> getNearbyRideRequests(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5000") double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+        return rideService.getNearbyPendingRideRequests(latitude, longitude, radiusMeters, limit)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/rides/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('DRIVER')")
+    public Flux<ServerSentEvent<RideResponse>> streamRideEvents() {
+        return rideEventStreamService.subscribe();
+    }
+
+    @PostMapping("/rides/{rideId}/accept")
+    @PreAuthorize("hasRole('DRIVER')")
+    public Mono<ResponseEntity<RideResponse>> acceptRide(
+            @PathVariable String rideId,
+            Authentication authentication) {
+        String driverId = getDriverIdFromAuth(authentication);
+        return rideService.acceptRide(rideId, driverId)
+                .map(ResponseEntity::ok);
+    }
+
+    private String getDriverIdFromAuth(Authentication authentication) {
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.rideshare.controller;
+
+import jakarta.validation.Valid;
+import org.example.rideshare.dto.CreateRideRequest;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.service.ReactiveRideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/rides")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRideController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final ReactiveRideService rideService;
+
+    public ReactiveRideController(ReactiveRideService rideService) {
+        this.rideService = rideService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<RideResponse>> createRide(
+            @Valid @RequestBody CreateRideRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String userId = extractUserId(authentication);
+        return rideService.createRide(request, userId, idempotencyKey)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping("/{rideId}/complete")
+    @PreAuthorize("hasAnyRole('USER', 'DRIVER')")
+    public Mono<ResponseEntity<RideResponse>> completeRide(@PathVariable String rideId) {
+        return rideService.completeRide(rideId)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{rideId}/cancel")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<RideResponse>> cancelRide(
+            @PathVariable String rideId,
+            Authentication authentication) {
+        String userId = extractUserId(authentication);
+        return rideService.cancelRide(rideId, userId)
+                .map(ResponseEntity::ok);
+    }
+
+    private String extractUserId(Authentication authentication) {
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.rideshare.controller;
+
+import org.example.rideshare.dto.NearbyDriverResponse;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.service.DriverLocationService;
+import org.example.rideshare.service.ReactiveRideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveRideService rideService;
+    private final DriverLocationService driverLocationService;
+
+    public ReactiveUserController(ReactiveRideService rideService, DriverLocationService driverLocationService) {
+        this.rideService = rideService;
+        this.driverLocationService = driverLocationService;
+    }
+
+    @GetMapping("/rides")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<List<RideResponse>>> getUserRides(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String userId = extractUserIdentifier(authentication);
+        return rideService.getUserRides(userId, cursor, limit)
+                .map(RidePageResponses::toResponse);
+    }
+
+    @GetMapping("/drivers/nearby")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<List<NearbyDriverResponse>>> getNearbyDrivers(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "2000") double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+        return Mono.fromCallable(() -> driverLocationService.findNearbyDrivers(latitude, longitude, radiusMeters, limit))
+                .map(ResponseEntity::ok);
+    }
+
+    private String extractUserIdentifier(Authentication authentication) {
+        return authentication.getName();
+    }
+}
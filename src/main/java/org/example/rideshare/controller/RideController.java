@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import org.example.rideshare.dto.CreateRideRequest;
 import org.example.rideshare.dto.RideResponse;
 import org.example.rideshare.service.RideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,8 +13,11 @@ import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/rides")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RideController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final RideService rideService;
 
     public RideController(RideService rideService) {
@@ -24,9 +28,10 @@ public class RideController {
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<RideResponse> createRide(
             @Valid @RequestBody CreateRideRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userId = extractUserId(authentication);
-        RideResponse response = rideService.createRide(request, userId);
+        RideResponse response = rideService.createRide(request, userId, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -37,6 +42,16 @@ public class RideController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{rideId}/cancel")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<RideResponse> cancelRide(
+            @PathVariable String rideId,
+            Authentication authentication) {
+        String userId = extractUserId(authentication);
+        RideResponse response = rideService.cancelRide(rideId, userId);
+        return ResponseEntity.ok(response);
+    }
+
     private String extractUserId(Authentication authentication) {
         return authentication.getName();
     }
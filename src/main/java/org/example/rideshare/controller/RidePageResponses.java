@@ -0,0 +1,25 @@
+package org.example.rideshare.controller;
+
+import org.example.rideshare.dto.RidePage;
+import org.example.rideshare.dto.RideResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Renders a {@link RidePage} for the servlet and reactive list endpoints alike: the rides as the body and,
+ * unless this is the last page, the cursor for the next one in the {@value RidePage#NEXT_CURSOR_HEADER} header.
+ */
+final class RidePageResponses {
+
+    private RidePageResponses() {
+    }
+
+    static ResponseEntity<List<RideResponse>> toResponse(RidePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(RidePage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getRides());
+    }
+}
@@ -1,7 +1,11 @@
 package org.example.rideshare.controller;
 
+import org.example.rideshare.dto.NearbyDriverResponse;
+import org.example.rideshare.dto.RidePage;
 import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.service.DriverLocationService;
 import org.example.rideshare.service.RideService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -11,20 +15,37 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
 
     private final RideService rideService;
+    private final DriverLocationService driverLocationService;
 
-    public UserController(RideService rideService) {
+    public UserController(RideService rideService, DriverLocationService driverLocationService) {
         this.rideService = rideService;
+        this.driverLocationService = driverLocationService;
     }
 
     @GetMapping("/rides")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<RideResponse>> getUserRides(Authentication authentication) {
+    public ResponseEntity<List<RideResponse>> getUserRides(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
         String userId = extractUserIdentifier(authentication);
-        List<RideResponse> rides = rideService.getUserRides(userId);
-        return ResponseEntity.ok(rides);
+        RidePage page = rideService.getUserRides(userId, cursor, limit);
+        return RidePageResponses.toResponse(page);
+    }
+
+    @GetMapping("/drivers/nearby")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<NearbyDriverResponse>> getNearbyDrivers(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "2000") double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<NearbyDriverResponse> drivers = driverLocationService.findNearbyDrivers(latitude, longitude, radiusMeters, limit);
+        return ResponseEntity.ok(drivers);
     }
 
     private String extractUserIdentifier(Authentication authentication) {
@@ -1,5 +1,7 @@
 package org.example.rideshare.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,5 +16,21 @@ public class CreateRideRequest {
 
     @NotBlank(message = "Drop is required")
     private String dropLocation;
-}
 
+    // Optional coordinates; when given, latitude and longitude must come together
+    @DecimalMin(value = "-90.0", message = "Pickup latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Pickup latitude must be between -90 and 90")
+    private Double pickupLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Pickup longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Pickup longitude must be between -180 and 180")
+    private Double pickupLongitude;
+
+    @DecimalMin(value = "-90.0", message = "Drop latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Drop latitude must be between -90 and 90")
+    private Double dropLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Drop longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Drop longitude must be between -180 and 180")
+    private Double dropLongitude;
+}
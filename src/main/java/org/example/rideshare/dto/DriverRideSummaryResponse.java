@@ -0,0 +1,33 @@
+package org.example.rideshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// A driver's rides created between from (inclusive) and to, by current status and by UTC day
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverRideSummaryResponse {
+    private Instant from;
+    private Instant to;
+    private long rides;
+    private Map<String, Long> statuses;
+    private Double completionRatio; // completed / (completed + cancelled); null until one of them happened
+    private List<Day> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate date;
+        private long rides;
+        private long completed;
+        private long cancelled;
+    }
+}
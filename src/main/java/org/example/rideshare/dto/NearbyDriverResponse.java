@@ -0,0 +1,15 @@
+package org.example.rideshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Driver ids are not exposed to riders; only where drivers are and how far away
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDriverResponse {
+    private double latitude;
+    private double longitude;
+    private double distanceMeters;
+}
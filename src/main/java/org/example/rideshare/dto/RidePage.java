@@ -0,0 +1,17 @@
+package org.example.rideshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RidePage {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<RideResponse> rides;
+    private String nextCursor; // null on the last page
+}
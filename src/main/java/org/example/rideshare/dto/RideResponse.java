@@ -15,7 +15,10 @@ public class RideResponse {
     private String driverId;
     private String pickupLocation;
     private String dropLocation;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    private Double dropLatitude;
+    private Double dropLongitude;
     private String status;
     private Date createdAt;
 }
-
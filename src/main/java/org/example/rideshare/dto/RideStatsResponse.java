@@ -0,0 +1,20 @@
+package org.example.rideshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RideStatsResponse {
+    private Instant countingSince;
+    // Rides that moved into each status, not the rides currently in it
+    private Map<String, Long> transitions;
+    private RideStatsWindow window;
+    private List<RideStatsWindow> hourly;
+}
@@ -0,0 +1,20 @@
+package org.example.rideshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Rides that moved into each status between from (inclusive) and to, and how long accepted rides waited
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RideStatsWindow {
+    private Instant from;
+    private Instant to;
+    private Map<String, Long> transitions;
+    private Long acceptLatencyAvgMillis;
+    private Long acceptLatencyMaxMillis;
+}
@@ -0,0 +1,9 @@
+package org.example.rideshare.event;
+
+import org.example.rideshare.dto.RideResponse;
+
+/**
+ * Published by {@code RideService} after a ride state change has been persisted.
+ */
+public record RideEvent(RideEventType type, RideResponse ride) {
+}
@@ -0,0 +1,19 @@
+package org.example.rideshare.event;
+
+public enum RideEventType {
+    CREATED("ride-created"),
+    ACCEPTED("ride-accepted"),
+    COMPLETED("ride-completed"),
+    CANCELLED("ride-cancelled"),
+    EXPIRED("ride-expired");
+
+    private final String eventName;
+
+    RideEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
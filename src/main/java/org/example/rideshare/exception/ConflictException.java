@@ -0,0 +1,7 @@
+package org.example.rideshare.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,16 @@
 package org.example.rideshare.exception;
 
 import org.example.rideshare.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,17 +21,21 @@ public class GlobalExceptionHandler {
     private static final String VALIDATION_ERROR_CODE = "VALIDATION_ERROR";
     private static final String BAD_REQUEST_CODE = "BAD_REQUEST";
     private static final String NOT_FOUND_CODE = "NOT_FOUND";
+    private static final String CONFLICT_CODE = "CONFLICT";
     private static final String AUTH_ERROR_CODE = "AUTHENTICATION_ERROR";
+    private static final String SERVICE_UNAVAILABLE_CODE = "SERVICE_UNAVAILABLE";
     private static final String INTERNAL_ERROR_CODE = "INTERNAL_ERROR";
     private static final String AUTH_ERROR_MESSAGE = "Invalid username or password";
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> validationErrors = extractValidationErrors(ex);
-        String firstErrorMessage = validationErrors.values().stream().findFirst()
-                .orElse("Validation failed");
-        ErrorResponse errorResponse = new ErrorResponse(VALIDATION_ERROR_CODE, firstErrorMessage);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return validationErrorResponse(ex.getBindingResult());
+    }
+
+    // WebFlux reports @Valid failures with its own exception type
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        return validationErrorResponse(ex.getBindingResult());
     }
 
     @ExceptionHandler(BadRequestException.class)
@@ -43,12 +50,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(CONFLICT_CODE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentials(BadCredentialsException ex) {
         ErrorResponse errorResponse = new ErrorResponse(AUTH_ERROR_CODE, AUTH_ERROR_MESSAGE);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(SERVICE_UNAVAILABLE_CODE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         String errorMessage = ex.getMessage() != null ? ex.getMessage() : "An unexpected error occurred";
@@ -56,8 +77,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
-    private Map<String, String> extractValidationErrors(MethodArgumentNotValidException ex) {
-        return ex.getBindingResult()
+    private ResponseEntity<ErrorResponse> validationErrorResponse(BindingResult bindingResult) {
+        Map<String, String> validationErrors = extractValidationErrors(bindingResult);
+        String firstErrorMessage = validationErrors.values().stream().findFirst()
+                .orElse("Validation failed");
+        ErrorResponse errorResponse = new ErrorResponse(VALIDATION_ERROR_CODE, firstErrorMessage);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    private Map<String, String> extractValidationErrors(BindingResult bindingResult) {
+        return bindingResult
                 .getFieldErrors()
                 .stream()
                 .collect(Collectors.toMap(
@@ -0,0 +1,28 @@
+package org.example.rideshare.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Last persisted position of a driver, one document per driver. Written in batches from the in-memory
+ * location index, so it may trail the live position by up to one flush interval.
+ */
+@Document(collection = "driver_locations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverLocation {
+    @Id
+    private String driverId;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint location; // GeoJSON [longitude, latitude]
+    private Date reportedAt;
+}
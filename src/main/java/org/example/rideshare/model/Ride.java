@@ -4,11 +4,24 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "rides")
+// Each index serves equality on its first field plus the keyset sort on (createdAt, _id)
+@CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "userId_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "driverId_createdAt_id", def = "{'driverId': 1, 'createdAt': -1, '_id': -1}")
+// Time-range exports without an equality filter
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': 1, '_id': 1}")
+// At most one ride per Idempotency-Key and user; rides created without a key are not indexed
+@CompoundIndex(name = "userId_idempotencyKey", def = "{'userId': 1, 'idempotencyKey': 1}", unique = true,
+        partialFilter = "{'idempotencyKey': {$exists: true}}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +32,11 @@ public class Ride {
     private String driverId; // Driver (nullable)
     private String pickupLocation;
     private String dropLocation;
-    private String status; // REQUESTED, ACCEPTED, COMPLETED
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint pickupCoordinates; // nullable, GeoJSON [longitude, latitude]
+    private GeoJsonPoint dropCoordinates; // nullable, GeoJSON [longitude, latitude]
+    private String status; // REQUESTED, ACCEPTED, COMPLETED, CANCELLED, EXPIRED
     private Date createdAt;
+    private String idempotencyKey; // nullable, client-supplied Idempotency-Key of the create request
+    private String statusUpdateId; // nullable, marker of the bulk update that last set the status
 }
-
@@ -0,0 +1,38 @@
+package org.example.rideshare.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Ride statistics summed over every instance. Each instance adds the counts of its own ride events to the one
+ * shared document, so it holds cluster-wide totals. Transition counts are keyed by the status the rides moved
+ * into, hours by their start instant (ISO-8601).
+ */
+@Document(collection = "ride_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RideStats {
+    @Id
+    private String id;
+    private Date countingSince; // earliest start of an instance that contributed
+    private Date updatedAt;
+    private Map<String, Long> transitions;
+    private Map<String, Hour> hours;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hour {
+        private Map<String, Long> transitions;
+        private long acceptLatencyTotalMillis;
+        private long acceptLatencyCount;
+        private long acceptLatencyMaxMillis;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.rideshare.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Rides created on one UTC day that are now in {@code status}.
+ */
+public record DailyStatusCount(LocalDate day, String status, long rides) {
+}
@@ -0,0 +1,10 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.DriverLocation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DriverLocationRepository
+        extends MongoRepository<DriverLocation, String>, DriverLocationRepositoryCustom {
+}
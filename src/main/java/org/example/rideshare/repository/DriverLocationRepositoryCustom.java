@@ -0,0 +1,13 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.DriverLocation;
+
+import java.util.Collection;
+
+public interface DriverLocationRepositoryCustom {
+
+    /**
+     * Upserts every location by driver id in one unordered bulk write.
+     */
+    void upsertAll(Collection<DriverLocation> locations);
+}
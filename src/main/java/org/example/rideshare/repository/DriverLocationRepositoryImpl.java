@@ -0,0 +1,34 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.DriverLocation;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+class DriverLocationRepositoryImpl implements DriverLocationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    DriverLocationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void upsertAll(Collection<DriverLocation> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DriverLocation.class);
+        for (DriverLocation location : locations) {
+            upserts.upsert(Query.query(Criteria.where("_id").is(location.getDriverId())),
+                    new Update()
+                            .set("location", location.getLocation())
+                            .set("reportedAt", location.getReportedAt()));
+        }
+        upserts.execute();
+    }
+}
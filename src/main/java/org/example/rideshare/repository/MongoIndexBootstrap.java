@@ -0,0 +1,237 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.ExplainVerbosity;
+import org.bson.Document;
+import org.example.rideshare.model.DriverLocation;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on {@link Ride}, {@link User} and {@link DriverLocation} before the application
+ * serves traffic, then explains each repository query and reports any plan that scans the whole collection: logged by
+ * default ({@code rides.mongodb.query-plan-check=warn}), fatal with {@code fail}, skipped with {@code off}.
+ * <p>
+ * Runs once all singletons exist, which is still inside the context refresh and so before the web server starts
+ * accepting connections; a failure here stops startup instead of leaving the API up without its indexes.
+ */
+@Component
+public class MongoIndexBootstrap implements SmartInitializingSingleton {
+
+    public enum QueryPlanCheck { OFF, WARN, FAIL }
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexBootstrap.class);
+
+    private static final String COLLECTION_SCAN_STAGE = "COLLSCAN";
+
+    // Placeholder values for the explained queries; only their shape matters to the planner
+    private static final String SAMPLE_VALUE = "query-plan-check";
+    private static final String SAMPLE_STATUS = "REQUESTED";
+    private static final String SAMPLE_OBJECT_ID = "000000000000000000000000";
+    private static final int SAMPLE_LIMIT = 21;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean createIndexes;
+    private final QueryPlanCheck queryPlanCheck;
+
+    public MongoIndexBootstrap(MongoTemplate mongoTemplate,
+                               @Value("${rides.mongodb.create-indexes:true}") boolean createIndexes,
+                               @Value("${rides.mongodb.query-plan-check:warn}") QueryPlanCheck queryPlanCheck) {
+        this.mongoTemplate = mongoTemplate;
+        this.createIndexes = createIndexes;
+        this.queryPlanCheck = queryPlanCheck;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (createIndexes) {
+            createIndexes(Ride.class);
+            createIndexes(User.class);
+            createIndexes(DriverLocation.class);
+            createArchiveIndexes();
+        }
+        if (queryPlanCheck != QueryPlanCheck.OFF) {
+            checkQueryPlans();
+        }
+    }
+
+    private void createIndexes(Class<?> entityType) {
+        IndexResolver indexResolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        IndexOperations indexOperations = mongoTemplate.indexOps(entityType);
+        String collectionName = mongoTemplate.getCollectionName(entityType);
+        for (var index : indexResolver.resolveIndexFor(entityType)) {
+            String indexName;
+            try {
+                indexName = indexOperations.createIndex(index);
+            } catch (DuplicateKeyException e) {
+                throw duplicateKeys(entityType, collectionName, index.getIndexKeys(), e);
+            }
+            log.info("Ensured index {} on {}", indexName, collectionName);
+        }
+    }
+
+    // A unique index cannot be built over documents that already break it, e.g. two users with the same username
+    private static IllegalStateException duplicateKeys(Class<?> entityType, String collectionName,
+                                                       Document indexKeys, DuplicateKeyException cause) {
+        String message = "Cannot create unique index " + indexKeys.toJson() + " on " + collectionName
+                + ": the collection already holds documents with duplicate values for it"
+                + (entityType == User.class ? " (duplicate usernames)" : "")
+                + ". Remove the duplicates and restart.";
+        log.error(message);
+        return new IllegalStateException(message, cause);
+    }
+
+    // The archive holds Ride documents, so it gets the subset of Ride's indexes its reads need
+    private void createArchiveIndexes() {
+        IndexResolver indexResolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        IndexOperations indexOperations = mongoTemplate.indexOps(RideQueries.ARCHIVE_COLLECTION);
+        for (var index : indexResolver.resolveIndexFor(Ride.class)) {
+            if (RideQueries.ARCHIVE_INDEX_NAMES.contains(index.getIndexOptions().getString("name"))) {
+                String indexName = indexOperations.createIndex(index);
+                log.info("Ensured index {} on {}", indexName, RideQueries.ARCHIVE_COLLECTION);
+            }
+        }
+    }
+
+    private void checkQueryPlans() {
+        List<String> collectionScans = new ArrayList<>();
+        collectCollectionScans(Ride.class, mongoTemplate.getCollectionName(Ride.class), rideQueries(), collectionScans);
+        collectCollectionScans(Ride.class, RideQueries.ARCHIVE_COLLECTION, archiveQueries(), collectionScans);
+        collectCollectionScans(User.class, mongoTemplate.getCollectionName(User.class), userQueries(), collectionScans);
+
+        if (collectionScans.isEmpty()) {
+            log.info("Query plan check passed: no repository query uses a collection scan");
+            return;
+        }
+        String message = "Repository queries planned as COLLSCAN: " + String.join(", ", collectionScans);
+        if (queryPlanCheck == QueryPlanCheck.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private void collectCollectionScans(Class<?> entityType, String collectionName, Map<String, Query> queries,
+                                        List<String> collectionScans) {
+        queries.forEach((name, query) -> {
+            if (usesCollectionScan(entityType, collectionName, query)) {
+                collectionScans.add(name);
+            }
+        });
+    }
+
+    private static Map<String, Query> userQueries() {
+        return Map.of("UserRepository.findByUsername", Query.query(Criteria.where("username").is(SAMPLE_VALUE)));
+    }
+
+    private static Map<String, Query> archiveQueries() {
+        Map<String, Query> queries = new LinkedHashMap<>();
+        queries.put("RideRepository.findArchivedResponsePageByUserId",
+                RideQueries.pageByUserId(SAMPLE_VALUE, null, null, SAMPLE_LIMIT));
+        queries.put("RideRepository.findArchivedResponsePageByUserId (next page)",
+                RideQueries.pageByUserId(SAMPLE_VALUE, new Date(0), SAMPLE_OBJECT_ID, SAMPLE_LIMIT));
+        queries.putAll(driverQueries("RideRepository.findArchivedResponsePageByDriverId",
+                "RideRepository.countDriverRidesByDayAndStatus ($unionWith $match)"));
+        queries.putAll(exportQueries("RideRepository.streamForExport (archive)"));
+        return queries;
+    }
+
+    // Driver history pages, and the $match that starts the driver summary pipeline on both collections
+    private static Map<String, Query> driverQueries(String pageQueryName, String summaryQueryName) {
+        Map<String, Query> queries = new LinkedHashMap<>();
+        Date sampleCreatedAt = new Date(0);
+        queries.put(pageQueryName,
+                RideQueries.pageByDriverId(SAMPLE_VALUE, null, null, null, null, null, SAMPLE_LIMIT));
+        queries.put(pageQueryName + " (status, time range, next page)",
+                RideQueries.pageByDriverId(SAMPLE_VALUE, SAMPLE_STATUS, sampleCreatedAt, new Date(),
+                        sampleCreatedAt, SAMPLE_OBJECT_ID, SAMPLE_LIMIT));
+        queries.put(summaryQueryName, RideQueries.export(null, null, SAMPLE_VALUE, sampleCreatedAt, new Date()));
+        return queries;
+    }
+
+    private static Map<String, Query> exportQueries(String queryName) {
+        Map<String, Query> queries = new LinkedHashMap<>();
+        Date sampleCreatedAt = new Date(0);
+        queries.put(queryName + " (time range)", RideQueries.export(null, null, null, sampleCreatedAt, new Date()));
+        queries.put(queryName + " (driver)", RideQueries.export(null, null, SAMPLE_VALUE, sampleCreatedAt, null));
+        return queries;
+    }
+
+    private static Map<String, Query> rideQueries() {
+        Map<String, Query> queries = new LinkedHashMap<>();
+        Date sampleCreatedAt = new Date(0);
+        queries.put("RideRepository.findByStatus",
+                Query.query(Criteria.where(RideQueries.STATUS_FIELD).is(SAMPLE_STATUS)));
+        queries.put("RideRepository.findByUserId",
+                Query.query(Criteria.where(RideQueries.USER_ID_FIELD).is(SAMPLE_VALUE)));
+        queries.put("RideRepository.findByUserIdAndIdempotencyKey",
+                Query.query(Criteria.where(RideQueries.USER_ID_FIELD).is(SAMPLE_VALUE)
+                        .and(RideQueries.IDEMPOTENCY_KEY_FIELD).is(SAMPLE_VALUE)));
+        queries.put("RideRepository.findResponsePageByStatus",
+                RideQueries.pageByStatus(SAMPLE_STATUS, null, null, SAMPLE_LIMIT));
+        queries.put("RideRepository.findResponsePageByStatus (next page)",
+                RideQueries.pageByStatus(SAMPLE_STATUS, sampleCreatedAt, SAMPLE_OBJECT_ID, SAMPLE_LIMIT));
+        queries.put("RideRepository.findLocatedResponsePageByStatus",
+                RideQueries.locatedPageByStatus(SAMPLE_STATUS, sampleCreatedAt, SAMPLE_OBJECT_ID, SAMPLE_LIMIT));
+        queries.put("RideRepository.findResponsePageByUserId",
+                RideQueries.pageByUserId(SAMPLE_VALUE, null, null, SAMPLE_LIMIT));
+        queries.put("RideRepository.findResponsePageByUserId (next page)",
+                RideQueries.pageByUserId(SAMPLE_VALUE, sampleCreatedAt, SAMPLE_OBJECT_ID, SAMPLE_LIMIT));
+        queries.putAll(driverQueries("RideRepository.findResponsePageByDriverId",
+                "RideRepository.countDriverRidesByDayAndStatus ($match)"));
+        queries.putAll(exportQueries("RideRepository.streamForExport"));
+        queries.put("RideRepository.findIdsByStatusCreatedBefore",
+                RideQueries.idsByStatusCreatedBefore(SAMPLE_STATUS, sampleCreatedAt, SAMPLE_LIMIT));
+        queries.put("RideRepository.archiveByStatusCreatedBefore",
+                RideQueries.byStatusInCreatedBefore(List.of(SAMPLE_STATUS), sampleCreatedAt, SAMPLE_LIMIT));
+        queries.put("RideRepository.findNearestByStatus",
+                RideQueries.nearestByStatus(SAMPLE_STATUS, 0, 0, 1_000, SAMPLE_LIMIT));
+        queries.put("RideRepository.assignDriverIfStatus",
+                RideQueries.byIdAndStatus(SAMPLE_OBJECT_ID, SAMPLE_STATUS));
+        return queries;
+    }
+
+    private boolean usesCollectionScan(Class<?> entityType, String collectionName, Query query) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(entityType);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Document explained = mongoTemplate.getCollection(collectionName)
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                .limit(query.getLimit())
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+        Object queryPlanner = explained.get("queryPlanner");
+        return queryPlanner instanceof Document planner && containsCollectionScan(planner.get("winningPlan"));
+    }
+
+    // Plans are trees of stages under inputStage/inputStages (or queryPlan on the SBE engine)
+    private static boolean containsCollectionScan(Object planNode) {
+        if (planNode instanceof Document stage) {
+            if (COLLECTION_SCAN_STAGE.equals(stage.get("stage"))) {
+                return true;
+            }
+            return stage.values().stream().anyMatch(MongoIndexBootstrap::containsCollectionScan);
+        }
+        if (planNode instanceof List<?> stages) {
+            return stages.stream().anyMatch(MongoIndexBootstrap::containsCollectionScan);
+        }
+        return false;
+    }
+}
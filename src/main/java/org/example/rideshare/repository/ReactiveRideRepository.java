@@ -0,0 +1,11 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.Ride;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRideRepository extends ReactiveMongoRepository<Ride, String>, ReactiveRideRepositoryCustom {
+    Mono<Ride> findByUserIdAndIdempotencyKey(String userId, String idempotencyKey);
+}
@@ -0,0 +1,43 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Reactive counterpart of {@link RideRepositoryCustom}; same queries, same ordering.
+ */
+public interface ReactiveRideRepositoryCustom {
+
+    Mono<Ride> assignDriverIfStatus(String rideId, String expectedStatus, String newStatus, String driverId);
+
+    Mono<Ride> updateStatusIfCurrent(String rideId, String expectedStatus, String newStatus);
+
+    Mono<Ride> updateStatusForUserIfIn(String rideId, String userId, Collection<String> expectedStatuses,
+                                       String newStatus);
+
+    Flux<Ride> findNearestByStatus(String status, double longitude, double latitude,
+                                   double maxDistanceMeters, int limit);
+
+    Flux<RideResponse> findResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit);
+
+    Flux<RideResponse> findArchivedResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit);
+
+    Flux<RideResponse> findResponsePageByDriverId(String driverId, String status, Date createdFrom, Date createdTo,
+                                                  Date afterCreatedAt, String afterId, int limit);
+
+    Flux<RideResponse> findArchivedResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                          Date createdTo, Date afterCreatedAt, String afterId,
+                                                          int limit);
+
+    Flux<DailyStatusCount> countDriverRidesByDayAndStatus(String driverId, Date createdFrom, Date createdTo);
+
+    Flux<RideResponse> findResponsePageByStatus(String status, Date afterCreatedAt, String afterId, int limit);
+
+    Flux<RideResponse> streamForExport(String status, String userId, String driverId,
+                                       Date createdFrom, Date createdTo, int batchSize);
+}
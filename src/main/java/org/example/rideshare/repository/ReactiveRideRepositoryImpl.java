@@ -0,0 +1,138 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Date;
+
+class ReactiveRideRepositoryImpl implements ReactiveRideRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final QueryMapper queryMapper;
+    private final MongoPersistentEntity<?> rideEntity;
+
+    ReactiveRideRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.queryMapper = new QueryMapper(reactiveMongoTemplate.getConverter());
+        this.rideEntity = reactiveMongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Ride.class);
+    }
+
+    @Override
+    public Mono<Ride> assignDriverIfStatus(String rideId, String expectedStatus, String newStatus, String driverId) {
+        return reactiveMongoTemplate.findAndModify(
+                RideQueries.byIdAndStatus(rideId, expectedStatus),
+                RideQueries.assignDriver(newStatus, driverId),
+                RideQueries.RETURN_NEW,
+                Ride.class);
+    }
+
+    @Override
+    public Mono<Ride> updateStatusIfCurrent(String rideId, String expectedStatus, String newStatus) {
+        return reactiveMongoTemplate.findAndModify(
+                RideQueries.byIdAndStatus(rideId, expectedStatus),
+                RideQueries.setStatus(newStatus),
+                RideQueries.RETURN_NEW,
+                Ride.class);
+    }
+
+    @Override
+    public Mono<Ride> updateStatusForUserIfIn(String rideId, String userId, Collection<String> expectedStatuses,
+                                              String newStatus) {
+        return reactiveMongoTemplate.findAndModify(
+                RideQueries.byIdUserAndStatusIn(rideId, userId, expectedStatuses),
+                RideQueries.setStatus(newStatus),
+                RideQueries.RETURN_NEW,
+                Ride.class);
+    }
+
+    @Override
+    public Flux<Ride> findNearestByStatus(String status, double longitude, double latitude,
+                                          double maxDistanceMeters, int limit) {
+        return reactiveMongoTemplate.find(
+                RideQueries.nearestByStatus(status, longitude, latitude, maxDistanceMeters, limit), Ride.class);
+    }
+
+    @Override
+    public Flux<RideResponse> findResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit) {
+        return findResponses(RideQueries.pageByUserId(userId, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public Flux<RideResponse> findArchivedResponsePageByUserId(String userId, Date afterCreatedAt, String afterId,
+                                                               int limit) {
+        Query query = RideQueries.pageByUserId(userId, afterCreatedAt, afterId, limit);
+        return reactiveMongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                findResponses(collection, query));
+    }
+
+    @Override
+    public Flux<RideResponse> findResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                         Date createdTo, Date afterCreatedAt, String afterId,
+                                                         int limit) {
+        return findResponses(RideQueries.pageByDriverId(
+                driverId, status, createdFrom, createdTo, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public Flux<RideResponse> findArchivedResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                                 Date createdTo, Date afterCreatedAt, String afterId,
+                                                                 int limit) {
+        Query query = RideQueries.pageByDriverId(driverId, status, createdFrom, createdTo, afterCreatedAt, afterId,
+                limit);
+        return reactiveMongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                findResponses(collection, query));
+    }
+
+    @Override
+    public Flux<DailyStatusCount> countDriverRidesByDayAndStatus(String driverId, Date createdFrom, Date createdTo) {
+        return reactiveMongoTemplate.aggregate(RideQueries.driverDailyStatusCounts(driverId, createdFrom, createdTo),
+                        reactiveMongoTemplate.getCollectionName(Ride.class), Document.class)
+                .map(RideQueries::toDailyStatusCount);
+    }
+
+    @Override
+    public Flux<RideResponse> findResponsePageByStatus(String status, Date afterCreatedAt, String afterId, int limit) {
+        return findResponses(RideQueries.pageByStatus(status, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public Flux<RideResponse> streamForExport(String status, String userId, String driverId,
+                                              Date createdFrom, Date createdTo, int batchSize) {
+        Query query = RideQueries.export(status, userId, driverId, createdFrom, createdTo);
+        Flux<RideResponse> liveRides = reactiveMongoTemplate.execute(Ride.class, collection ->
+                findResponses(collection, query).batchSize(batchSize));
+        Flux<RideResponse> archivedRides = reactiveMongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                findResponses(collection, query).batchSize(batchSize));
+        // Both sides are sorted the same way, so a ride caught mid-archive comes out twice in a row
+        return Flux.mergeComparing(RideQueries.OLDEST_FIRST, liveRides, archivedRides)
+                .distinctUntilChanged(RideResponse::getId);
+    }
+
+    private Flux<RideResponse> findResponses(Query query) {
+        return reactiveMongoTemplate.execute(Ride.class, collection -> findResponses(collection, query));
+    }
+
+    // Same projection read path as RideRepositoryImpl
+    private FindPublisher<RideResponse> findResponses(MongoCollection<Document> collection, Query query) {
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), rideEntity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), rideEntity);
+        return collection
+                .withDocumentClass(RideResponse.class)
+                .withCodecRegistry(RideResponseCodec.registryWith(collection.getCodecRegistry()))
+                .find(filter)
+                .projection(RideQueries.RESPONSE_PROJECTION)
+                .sort(sort)
+                .limit(query.getLimit());
+    }
+}
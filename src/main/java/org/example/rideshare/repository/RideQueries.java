@@ -0,0 +1,231 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.example.rideshare.dto.RideResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Query shapes shared by the blocking and reactive ride repository implementations.
+ */
+final class RideQueries {
+
+    static final String ID_FIELD = "id";
+    static final String STATUS_FIELD = "status";
+    static final String DRIVER_ID_FIELD = "driverId";
+    static final String USER_ID_FIELD = "userId";
+    static final String PICKUP_LOCATION_FIELD = "pickupLocation";
+    static final String DROP_LOCATION_FIELD = "dropLocation";
+    static final String PICKUP_COORDINATES_FIELD = "pickupCoordinates";
+    static final String DROP_COORDINATES_FIELD = "dropCoordinates";
+    static final String CREATED_AT_FIELD = "createdAt";
+    static final String IDEMPOTENCY_KEY_FIELD = "idempotencyKey";
+    static final String STATUS_UPDATE_ID_FIELD = "statusUpdateId";
+    // Stored id, for raw documents and aggregation stages that skip the entity mapping
+    static final String MONGO_ID_FIELD = "_id";
+
+    // Output of the driver summary pipeline
+    static final String DAY_FIELD = "day";
+    static final String RIDES_FIELD = "rides";
+    static final String DAY_FORMAT = "%Y-%m-%d";
+
+    // Rides in a final state past the retention window; same document shape as the rides collection
+    static final String ARCHIVE_COLLECTION = "rides_archive";
+    // Ride indexes also built on the archive: the history reads by user or driver and time-range scans
+    static final Set<String> ARCHIVE_INDEX_NAMES =
+            Set.of("userId_createdAt_id", "driverId_createdAt_id", "createdAt_id");
+
+    // Order of the export query, for merging the live and archived results
+    static final Comparator<RideResponse> OLDEST_FIRST = Comparator
+            .comparing(RideResponse::getCreatedAt)
+            .thenComparing(RideResponse::getId);
+
+    static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    // Stored fields that make up a RideResponse; everything else (e.g. _class) stays on the server
+    static final Bson RESPONSE_PROJECTION = Projections.include(
+            USER_ID_FIELD, DRIVER_ID_FIELD, PICKUP_LOCATION_FIELD, DROP_LOCATION_FIELD,
+            PICKUP_COORDINATES_FIELD, DROP_COORDINATES_FIELD, STATUS_FIELD, CREATED_AT_FIELD);
+
+    private RideQueries() {
+    }
+
+    static DailyStatusCount toDailyStatusCount(Document counted) {
+        Document group = counted.get(MONGO_ID_FIELD, Document.class);
+        return new DailyStatusCount(LocalDate.parse(group.getString(DAY_FIELD)), group.getString(STATUS_FIELD),
+                ((Number) counted.get(RIDES_FIELD)).longValue());
+    }
+
+    static Query byIdAndStatus(String rideId, String expectedStatus) {
+        return Query.query(Criteria.where(ID_FIELD).is(rideId).and(STATUS_FIELD).is(expectedStatus));
+    }
+
+    static Query byIdsAndStatus(Collection<String> rideIds, String status) {
+        return Query.query(Criteria.where(ID_FIELD).in(rideIds).and(STATUS_FIELD).is(status));
+    }
+
+    static Query byIdsAndStatusUpdateId(Collection<String> rideIds, String statusUpdateId) {
+        return Query.query(Criteria.where(ID_FIELD).in(rideIds).and(STATUS_UPDATE_ID_FIELD).is(statusUpdateId));
+    }
+
+    static Query byIdUserAndStatusIn(String rideId, String userId, Collection<String> expectedStatuses) {
+        return Query.query(Criteria.where(ID_FIELD).is(rideId)
+                .and(USER_ID_FIELD).is(userId)
+                .and(STATUS_FIELD).in(expectedStatuses));
+    }
+
+    static Query byStatusInCreatedBefore(Collection<String> statuses, Date createdBefore, int limit) {
+        return Query.query(Criteria.where(STATUS_FIELD).in(statuses).and(CREATED_AT_FIELD).lt(createdBefore))
+                .limit(limit);
+    }
+
+    /**
+     * Ids of the oldest rides in {@code status} created before {@code createdBefore}; served from the
+     * (status, createdAt, _id) index without fetching the documents.
+     */
+    static Query idsByStatusCreatedBefore(String status, Date createdBefore, int limit) {
+        Query query = Query.query(Criteria.where(STATUS_FIELD).is(status).and(CREATED_AT_FIELD).lt(createdBefore))
+                .with(Sort.by(Sort.Direction.ASC, CREATED_AT_FIELD, ID_FIELD))
+                .limit(limit);
+        query.fields().include(ID_FIELD);
+        return query;
+    }
+
+    static Update assignDriver(String newStatus, String driverId) {
+        return Update.update(STATUS_FIELD, newStatus).set(DRIVER_ID_FIELD, driverId);
+    }
+
+    static Update assignDriver(String newStatus, String driverId, String statusUpdateId) {
+        return assignDriver(newStatus, driverId).set(STATUS_UPDATE_ID_FIELD, statusUpdateId);
+    }
+
+    static Update setStatus(String newStatus) {
+        return Update.update(STATUS_FIELD, newStatus);
+    }
+
+    static Update setStatus(String newStatus, String statusUpdateId) {
+        return setStatus(newStatus).set(STATUS_UPDATE_ID_FIELD, statusUpdateId);
+    }
+
+    static Query nearestByStatus(String status, double longitude, double latitude, double maxDistanceMeters,
+                                 int limit) {
+        GeoJsonPoint origin = new GeoJsonPoint(longitude, latitude);
+        return Query.query(Criteria.where(STATUS_FIELD).is(status)
+                        .and(PICKUP_COORDINATES_FIELD).nearSphere(origin).maxDistance(maxDistanceMeters))
+                .limit(limit);
+    }
+
+    static Query pageByUserId(String userId, Date afterCreatedAt, String afterId, int limit) {
+        return page(Criteria.where(USER_ID_FIELD).is(userId), Sort.Direction.DESC, afterCreatedAt, afterId, limit);
+    }
+
+    static Query pageByStatus(String status, Date afterCreatedAt, String afterId, int limit) {
+        return page(Criteria.where(STATUS_FIELD).is(status), Sort.Direction.ASC, afterCreatedAt, afterId, limit);
+    }
+
+    static Query locatedPageByStatus(String status, Date afterCreatedAt, String afterId, int limit) {
+        return page(Criteria.where(STATUS_FIELD).is(status).and(PICKUP_COORDINATES_FIELD).exists(true),
+                Sort.Direction.ASC, afterCreatedAt, afterId, limit);
+    }
+
+    static Query pageByDriverId(String driverId, String status, Date createdFrom, Date createdTo,
+                                Date afterCreatedAt, String afterId, int limit) {
+        return page(matching(status, null, driverId, createdFrom, createdTo), Sort.Direction.DESC,
+                afterCreatedAt, afterId, limit);
+    }
+
+    /**
+     * All rides matching the optional filters, oldest first; run against both rides and the archive. Each filter
+     * combination is served by one of the (field, createdAt, _id) indexes, or by (createdAt, _id) when only a time
+     * range is given.
+     */
+    static Query export(String status, String userId, String driverId, Date createdFrom, Date createdTo) {
+        return Query.query(matching(status, userId, driverId, createdFrom, createdTo))
+                .with(Sort.by(Sort.Direction.ASC, CREATED_AT_FIELD, ID_FIELD));
+    }
+
+    /**
+     * Counts one driver's rides created in [createdFrom, createdTo) per UTC day and status, over the rides
+     * collection and the archive in one pipeline. Both sides are matched on the (driverId, createdAt, _id)
+     * index and only status and createdAt leave it. A ride caught mid-archive is in both and counted once.
+     * Each output document is {_id: {day: "yyyy-MM-dd", status}, rides}.
+     */
+    static Aggregation driverDailyStatusCounts(String driverId, Date createdFrom, Date createdTo) {
+        Criteria filter = matching(null, null, driverId, createdFrom, createdTo);
+        ProjectionOperation summaryFields = Aggregation.project(MONGO_ID_FIELD, STATUS_FIELD, CREATED_AT_FIELD);
+        return Aggregation.newAggregation(
+                Aggregation.match(filter),
+                summaryFields,
+                UnionWithOperation.unionWith(ARCHIVE_COLLECTION).pipeline(Aggregation.match(filter), summaryFields),
+                Aggregation.group(MONGO_ID_FIELD)
+                        .first(STATUS_FIELD).as(STATUS_FIELD)
+                        .first(CREATED_AT_FIELD).as(CREATED_AT_FIELD),
+                Aggregation.project(STATUS_FIELD)
+                        .and(DateOperators.dateOf(CREATED_AT_FIELD).toString(DAY_FORMAT)).as(DAY_FIELD),
+                Aggregation.group(DAY_FIELD, STATUS_FIELD).count().as(RIDES_FIELD),
+                Aggregation.sort(Sort.Direction.ASC, MONGO_ID_FIELD + "." + DAY_FIELD));
+    }
+
+    private static Criteria matching(String status, String userId, String driverId, Date createdFrom,
+                                     Date createdTo) {
+        Criteria criteria = new Criteria();
+        if (status != null) {
+            criteria = criteria.and(STATUS_FIELD).is(status);
+        }
+        if (userId != null) {
+            criteria = criteria.and(USER_ID_FIELD).is(userId);
+        }
+        if (driverId != null) {
+            criteria = criteria.and(DRIVER_ID_FIELD).is(driverId);
+        }
+        if (createdFrom != null || createdTo != null) {
+            criteria = criteria.and(CREATED_AT_FIELD);
+            if (createdFrom != null) {
+                criteria = criteria.gte(createdFrom);
+            }
+            if (createdTo != null) {
+                criteria = criteria.lt(createdTo);
+            }
+        }
+        return criteria;
+    }
+
+    /**
+     * Keyset page over (createdAt, id) in {@code direction}, strictly after the given position.
+     */
+    static Query page(Criteria filter, Sort.Direction direction, Date afterCreatedAt, String afterId, int limit) {
+        Criteria criteria = afterCreatedAt == null
+                ? filter
+                : new Criteria().andOperator(filter, afterPosition(direction, afterCreatedAt, afterId));
+        return Query.query(criteria)
+                .with(Sort.by(direction, CREATED_AT_FIELD, ID_FIELD))
+                .limit(limit);
+    }
+
+    private static Criteria afterPosition(Sort.Direction direction, Date createdAt, String id) {
+        if (direction.isAscending()) {
+            return new Criteria().orOperator(
+                    Criteria.where(CREATED_AT_FIELD).gt(createdAt),
+                    Criteria.where(CREATED_AT_FIELD).is(createdAt).and(ID_FIELD).gt(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(CREATED_AT_FIELD).lt(createdAt),
+                Criteria.where(CREATED_AT_FIELD).is(createdAt).and(ID_FIELD).lt(id));
+    }
+}
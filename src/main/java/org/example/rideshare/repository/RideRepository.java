@@ -5,11 +5,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RideRepository extends MongoRepository<Ride, String> {
+public interface RideRepository extends MongoRepository<Ride, String>, RideRepositoryCustom {
     List<Ride> findByUserId(String userId);
     List<Ride> findByStatus(String status);
-    List<Ride> findByDriverId(String driverId);
+    Optional<Ride> findByUserIdAndIdempotencyKey(String userId, String idempotencyKey);
 }
 
@@ -0,0 +1,120 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RideRepositoryCustom {
+
+    /**
+     * Atomically moves a ride from {@code expectedStatus} to {@code newStatus} and assigns the driver.
+     * Returns the updated ride, or empty when no ride with that id is in {@code expectedStatus}.
+     */
+    Optional<Ride> assignDriverIfStatus(String rideId, String expectedStatus, String newStatus, String driverId);
+
+    /**
+     * Assigns each ride (key) to its driver (value) and moves it to {@code newStatus} in one unordered bulk
+     * write, skipping rides no longer in {@code expectedStatus}. Returns the rides this write assigned; the
+     * others were taken by a concurrent accept, which is not reported here even when it was by the same driver.
+     */
+    List<Ride> assignDriversIfStatus(Map<String, String> driverIdsByRideId, String expectedStatus, String newStatus);
+
+    /**
+     * Atomically moves a ride from {@code expectedStatus} to {@code newStatus}.
+     * Returns the updated ride, or empty when no ride with that id is in {@code expectedStatus}.
+     */
+    Optional<Ride> updateStatusIfCurrent(String rideId, String expectedStatus, String newStatus);
+
+    /**
+     * Atomically moves a ride of {@code userId} that is in one of {@code expectedStatuses} to {@code newStatus}.
+     * Returns the updated ride, or empty when the ride is missing, belongs to another user or is in another status.
+     */
+    Optional<Ride> updateStatusForUserIfIn(String rideId, String userId, Collection<String> expectedStatuses,
+                                           String newStatus);
+
+    /**
+     * Moves every listed ride still in {@code expectedStatus} to {@code newStatus} in one update and returns
+     * the rides this call moved. Rides moved by a concurrent call, e.g. another instance, are not returned.
+     */
+    List<Ride> updateStatusesIfCurrent(Collection<String> rideIds, String expectedStatus, String newStatus);
+
+    /**
+     * Returns the ids of up to {@code limit} rides in {@code status} created before {@code createdBefore},
+     * oldest first.
+     */
+    List<String> findIdsByStatusCreatedBefore(String status, Date createdBefore, int limit);
+
+    /**
+     * Returns up to {@code limit} rides in {@code status} whose pickup point lies within
+     * {@code maxDistanceMeters} of the given point, nearest first.
+     */
+    List<Ride> findNearestByStatus(String status, double longitude, double latitude,
+                                   double maxDistanceMeters, int limit);
+
+    /**
+     * Returns up to {@code limit} rides of the user, newest first, strictly after the
+     * (createdAt, id) position of the previous page. A null {@code afterCreatedAt} starts from the top.
+     * Only the response fields are fetched, and they are decoded straight into {@link RideResponse}.
+     */
+    List<RideResponse> findResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Returns up to {@code limit} rides in {@code status}, oldest first, strictly after the
+     * (createdAt, id) position of the previous page. A null {@code afterCreatedAt} starts from the top.
+     * Only the response fields are fetched, and they are decoded straight into {@link RideResponse}.
+     */
+    List<RideResponse> findResponsePageByStatus(String status, Date afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Same page as {@link #findResponsePageByStatus} restricted to rides with pickup coordinates.
+     */
+    List<RideResponse> findLocatedResponsePageByStatus(String status, Date afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Same page as {@link #findResponsePageByUserId} read from the archive collection.
+     */
+    List<RideResponse> findArchivedResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Returns up to {@code limit} rides assigned to the driver, newest first, strictly after the (createdAt, id)
+     * position of the previous page. {@code status}, {@code createdFrom} (inclusive) and {@code createdTo}
+     * (exclusive) filter when non-null. Only the response fields are fetched.
+     */
+    List<RideResponse> findResponsePageByDriverId(String driverId, String status, Date createdFrom, Date createdTo,
+                                                  Date afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Same page as {@link #findResponsePageByDriverId} read from the archive collection.
+     */
+    List<RideResponse> findArchivedResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                          Date createdTo, Date afterCreatedAt, String afterId,
+                                                          int limit);
+
+    /**
+     * Counts the driver's rides created in [createdFrom, createdTo), live and archived, per UTC day and
+     * current status, in one aggregation. Days without rides are left out.
+     */
+    List<DailyStatusCount> countDriverRidesByDayAndStatus(String driverId, Date createdFrom, Date createdTo);
+
+    /**
+     * Moves up to {@code limit} rides in one of {@code statuses} created before {@code createdBefore} from the
+     * rides collection to the archive: the documents are upserted into the archive first and only then deleted,
+     * so an interrupted batch leaves copies in both collections that the next batch completes. Returns how many
+     * rides were moved.
+     */
+    int archiveByStatusCreatedBefore(Collection<String> statuses, Date createdBefore, int limit);
+
+    /**
+     * Streams every live or archived ride matching the non-null filters, oldest first, from one server cursor
+     * per collection, each fetching {@code batchSize} rides at a time. {@code createdFrom} is inclusive,
+     * {@code createdTo} exclusive. The stream holds the cursors open and must be closed.
+     */
+    Stream<RideResponse> streamForExport(String status, String userId, String driverId,
+                                         Date createdFrom, Date createdTo, int batchSize);
+}
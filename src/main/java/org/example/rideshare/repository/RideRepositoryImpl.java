@@ -0,0 +1,281 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class RideRepositoryImpl implements RideRepositoryCustom {
+
+    private static final String MONGO_ID = "_id";
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final MongoPersistentEntity<?> rideEntity;
+
+    RideRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.rideEntity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Ride.class);
+    }
+
+    @Override
+    public Optional<Ride> assignDriverIfStatus(String rideId, String expectedStatus, String newStatus, String driverId) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                RideQueries.byIdAndStatus(rideId, expectedStatus),
+                RideQueries.assignDriver(newStatus, driverId),
+                RideQueries.RETURN_NEW,
+                Ride.class));
+    }
+
+    @Override
+    public List<Ride> assignDriversIfStatus(Map<String, String> driverIdsByRideId, String expectedStatus,
+                                            String newStatus) {
+        if (driverIdsByRideId.isEmpty()) {
+            return List.of();
+        }
+        // Tagged like updateStatusesIfCurrent: an accept by hand that lands between the bulk write and the
+        // read-back, even by the same driver, does not carry this write's tag and is not reported as assigned here
+        String statusUpdateId = UUID.randomUUID().toString();
+        BulkOperations assignments = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ride.class);
+        driverIdsByRideId.forEach((rideId, driverId) -> assignments.updateOne(
+                RideQueries.byIdAndStatus(rideId, expectedStatus),
+                RideQueries.assignDriver(newStatus, driverId, statusUpdateId)));
+        assignments.execute();
+        return mongoTemplate.find(RideQueries.byIdsAndStatusUpdateId(driverIdsByRideId.keySet(), statusUpdateId),
+                Ride.class);
+    }
+
+    @Override
+    public Optional<Ride> updateStatusIfCurrent(String rideId, String expectedStatus, String newStatus) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                RideQueries.byIdAndStatus(rideId, expectedStatus),
+                RideQueries.setStatus(newStatus),
+                RideQueries.RETURN_NEW,
+                Ride.class));
+    }
+
+    @Override
+    public Optional<Ride> updateStatusForUserIfIn(String rideId, String userId, Collection<String> expectedStatuses,
+                                                  String newStatus) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                RideQueries.byIdUserAndStatusIn(rideId, userId, expectedStatuses),
+                RideQueries.setStatus(newStatus),
+                RideQueries.RETURN_NEW,
+                Ride.class));
+    }
+
+    @Override
+    public List<Ride> updateStatusesIfCurrent(Collection<String> rideIds, String expectedStatus, String newStatus) {
+        if (rideIds.isEmpty()) {
+            return List.of();
+        }
+        // The update result only counts matches, so the update tags the rides it moves and the read-back
+        // selects that tag. Rides another instance moved in the meantime carry its tag, not this one.
+        String statusUpdateId = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(RideQueries.byIdsAndStatus(rideIds, expectedStatus),
+                RideQueries.setStatus(newStatus, statusUpdateId), Ride.class);
+        return mongoTemplate.find(RideQueries.byIdsAndStatusUpdateId(rideIds, statusUpdateId), Ride.class);
+    }
+
+    @Override
+    public List<String> findIdsByStatusCreatedBefore(String status, Date createdBefore, int limit) {
+        return mongoTemplate.find(RideQueries.idsByStatusCreatedBefore(status, createdBefore, limit), Ride.class)
+                .stream()
+                .map(Ride::getId)
+                .toList();
+    }
+
+    @Override
+    public List<Ride> findNearestByStatus(String status, double longitude, double latitude,
+                                          double maxDistanceMeters, int limit) {
+        return mongoTemplate.find(
+                RideQueries.nearestByStatus(status, longitude, latitude, maxDistanceMeters, limit), Ride.class);
+    }
+
+    @Override
+    public List<RideResponse> findResponsePageByUserId(String userId, Date afterCreatedAt, String afterId, int limit) {
+        return findResponses(RideQueries.pageByUserId(userId, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public List<RideResponse> findResponsePageByStatus(String status, Date afterCreatedAt, String afterId, int limit) {
+        return findResponses(RideQueries.pageByStatus(status, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public List<RideResponse> findLocatedResponsePageByStatus(String status, Date afterCreatedAt, String afterId,
+                                                              int limit) {
+        return findResponses(RideQueries.locatedPageByStatus(status, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public List<RideResponse> findArchivedResponsePageByUserId(String userId, Date afterCreatedAt, String afterId,
+                                                               int limit) {
+        Query query = RideQueries.pageByUserId(userId, afterCreatedAt, afterId, limit);
+        return mongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                findResponses(collection, query).into(new ArrayList<>(limit)));
+    }
+
+    @Override
+    public List<RideResponse> findResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                         Date createdTo, Date afterCreatedAt, String afterId,
+                                                         int limit) {
+        return findResponses(RideQueries.pageByDriverId(
+                driverId, status, createdFrom, createdTo, afterCreatedAt, afterId, limit));
+    }
+
+    @Override
+    public List<RideResponse> findArchivedResponsePageByDriverId(String driverId, String status, Date createdFrom,
+                                                                 Date createdTo, Date afterCreatedAt, String afterId,
+                                                                 int limit) {
+        Query query = RideQueries.pageByDriverId(driverId, status, createdFrom, createdTo, afterCreatedAt, afterId,
+                limit);
+        return mongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                findResponses(collection, query).into(new ArrayList<>(limit)));
+    }
+
+    @Override
+    public List<DailyStatusCount> countDriverRidesByDayAndStatus(String driverId, Date createdFrom, Date createdTo) {
+        return mongoTemplate.aggregate(RideQueries.driverDailyStatusCounts(driverId, createdFrom, createdTo),
+                        mongoTemplate.getCollectionName(Ride.class), Document.class)
+                .getMappedResults().stream()
+                .map(RideQueries::toDailyStatusCount)
+                .toList();
+    }
+
+    @Override
+    public int archiveByStatusCreatedBefore(Collection<String> statuses, Date createdBefore, int limit) {
+        Document filter = queryMapper.getMappedObject(
+                RideQueries.byStatusInCreatedBefore(statuses, createdBefore, limit).getQueryObject(), rideEntity);
+        List<Document> rides = mongoTemplate.execute(Ride.class, collection ->
+                collection.find(filter).limit(limit).into(new ArrayList<>(limit)));
+        if (rides.isEmpty()) {
+            return 0;
+        }
+        List<Object> rideIds = rides.stream().map(ride -> ride.get(MONGO_ID)).toList();
+        // Upserts keep a repeated batch (after a failed delete) from failing on duplicate ids
+        mongoTemplate.getCollection(RideQueries.ARCHIVE_COLLECTION).bulkWrite(
+                rides.stream()
+                        .map(ride -> new ReplaceOneModel<>(Filters.eq(MONGO_ID, ride.get(MONGO_ID)), ride, UPSERT))
+                        .toList(),
+                UNORDERED);
+        mongoTemplate.execute(Ride.class, collection -> collection.deleteMany(
+                Filters.and(Filters.in(MONGO_ID, rideIds), Filters.in(RideQueries.STATUS_FIELD, statuses))));
+        return rides.size();
+    }
+
+    @Override
+    public Stream<RideResponse> streamForExport(String status, String userId, String driverId,
+                                                Date createdFrom, Date createdTo, int batchSize) {
+        Query query = RideQueries.export(status, userId, driverId, createdFrom, createdTo);
+        MongoCursor<RideResponse> liveCursor = mongoTemplate.execute(Ride.class, collection ->
+                findResponses(collection, query).batchSize(batchSize).cursor());
+        MongoCursor<RideResponse> archivedCursor;
+        try {
+            archivedCursor = mongoTemplate.execute(RideQueries.ARCHIVE_COLLECTION, collection ->
+                    findResponses(collection, query).batchSize(batchSize).cursor());
+        } catch (RuntimeException e) {
+            liveCursor.close();
+            throw e;
+        }
+        Iterator<RideResponse> rides = new OldestFirstMerge(liveCursor, archivedCursor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rides, Spliterator.ORDERED), false)
+                .onClose(liveCursor::close)
+                .onClose(archivedCursor::close);
+    }
+
+    /**
+     * Merges two cursors sorted by {@link RideQueries#OLDEST_FIRST} into one sequence in that order. A ride caught
+     * mid-archive is in both and is returned once.
+     */
+    private static final class OldestFirstMerge implements Iterator<RideResponse> {
+
+        private final Iterator<RideResponse> live;
+        private final Iterator<RideResponse> archived;
+        private RideResponse nextLive;
+        private RideResponse nextArchived;
+
+        OldestFirstMerge(Iterator<RideResponse> live, Iterator<RideResponse> archived) {
+            this.live = live;
+            this.archived = archived;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLive == null && live.hasNext()) {
+                nextLive = live.next();
+            }
+            if (nextArchived == null && archived.hasNext()) {
+                nextArchived = archived.next();
+            }
+            return nextLive != null || nextArchived != null;
+        }
+
+        @Override
+        public RideResponse next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RideResponse next;
+            int order = nextLive == null ? 1 : nextArchived == null ? -1
+                    : RideQueries.OLDEST_FIRST.compare(nextLive, nextArchived);
+            if (order <= 0) {
+                next = nextLive;
+                nextLive = null;
+                if (order == 0) {
+                    nextArchived = null;
+                }
+            } else {
+                next = nextArchived;
+                nextArchived = null;
+            }
+            return next;
+        }
+    }
+
+    private List<RideResponse> findResponses(Query query) {
+        return mongoTemplate.execute(Ride.class, collection ->
+                findResponses(collection, query).into(new ArrayList<>(query.getLimit())));
+    }
+
+    // Bypasses entity mapping: the query is mapped to stored field names, results go through RideResponseCodec
+    private FindIterable<RideResponse> findResponses(MongoCollection<Document> collection, Query query) {
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), rideEntity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), rideEntity);
+        return collection
+                .withDocumentClass(RideResponse.class)
+                .withCodecRegistry(RideResponseCodec.registryWith(collection.getCodecRegistry()))
+                .find(filter)
+                .projection(RideQueries.RESPONSE_PROJECTION)
+                .sort(sort)
+                .limit(query.getLimit());
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.rideshare.repository;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.example.rideshare.dto.RideResponse;
+
+import java.util.Date;
+
+/**
+ * Decodes a projected ride document straight into a {@link RideResponse}, without building a
+ * {@code Document} or a {@code Ride} entity first. Rides are still saved through the entity; encoding writes the
+ * same stored shape, so anything that encodes a {@link RideResponse} through this registry decodes back unchanged.
+ */
+final class RideResponseCodec implements Codec<RideResponse> {
+
+    private static final String MONGO_ID_FIELD = "_id";
+    private static final String TYPE_FIELD = "type";
+    private static final String COORDINATES_FIELD = "coordinates";
+    private static final String POINT_TYPE = "Point";
+
+    private static final RideResponseCodec INSTANCE = new RideResponseCodec();
+
+    /**
+     * The collection's registry with this codec in front, so filters still encode as usual.
+     */
+    static CodecRegistry registryWith(CodecRegistry collectionCodecRegistry) {
+        return CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(INSTANCE), collectionCodecRegistry);
+    }
+
+    @Override
+    public RideResponse decode(BsonReader reader, DecoderContext decoderContext) {
+        RideResponse ride = new RideResponse();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String fieldName = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (fieldName) {
+                case MONGO_ID_FIELD -> ride.setId(readId(reader));
+                case RideQueries.USER_ID_FIELD -> ride.setUserId(reader.readString());
+                case RideQueries.DRIVER_ID_FIELD -> ride.setDriverId(reader.readString());
+                case RideQueries.PICKUP_LOCATION_FIELD -> ride.setPickupLocation(reader.readString());
+                case RideQueries.DROP_LOCATION_FIELD -> ride.setDropLocation(reader.readString());
+                case RideQueries.PICKUP_COORDINATES_FIELD -> {
+                    double[] point = readPoint(reader);
+                    ride.setPickupLongitude(point[0]);
+                    ride.setPickupLatitude(point[1]);
+                }
+                case RideQueries.DROP_COORDINATES_FIELD -> {
+                    double[] point = readPoint(reader);
+                    ride.setDropLongitude(point[0]);
+                    ride.setDropLatitude(point[1]);
+                }
+                case RideQueries.STATUS_FIELD -> ride.setStatus(reader.readString());
+                case RideQueries.CREATED_AT_FIELD -> ride.setCreatedAt(new Date(reader.readDateTime()));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return ride;
+    }
+
+    // String ids that look like ObjectIds are stored as ObjectIds by the entity mapping
+    private static String readId(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                ? reader.readObjectId().toHexString()
+                : reader.readString();
+    }
+
+    // GeoJSON point: { type: "Point", coordinates: [longitude, latitude] }
+    private static double[] readPoint(BsonReader reader) {
+        double[] point = new double[2];
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (COORDINATES_FIELD.equals(reader.readName())) {
+                reader.readStartArray();
+                for (int position = 0; reader.readBsonType() != BsonType.END_OF_DOCUMENT; position++) {
+                    if (position < point.length) {
+                        point[position] = readNumber(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.readEndArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return point;
+    }
+
+    private static double readNumber(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            default -> reader.readDouble();
+        };
+    }
+
+    // Null fields are left out, as the entity mapping does
+    @Override
+    public void encode(BsonWriter writer, RideResponse value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.getId() != null) {
+            writeId(writer, value.getId());
+        }
+        writeString(writer, RideQueries.USER_ID_FIELD, value.getUserId());
+        writeString(writer, RideQueries.DRIVER_ID_FIELD, value.getDriverId());
+        writeString(writer, RideQueries.PICKUP_LOCATION_FIELD, value.getPickupLocation());
+        writeString(writer, RideQueries.DROP_LOCATION_FIELD, value.getDropLocation());
+        writePoint(writer, RideQueries.PICKUP_COORDINATES_FIELD, value.getPickupLongitude(), value.getPickupLatitude());
+        writePoint(writer, RideQueries.DROP_COORDINATES_FIELD, value.getDropLongitude(), value.getDropLatitude());
+        writeString(writer, RideQueries.STATUS_FIELD, value.getStatus());
+        if (value.getCreatedAt() != null) {
+            writer.writeDateTime(RideQueries.CREATED_AT_FIELD, value.getCreatedAt().getTime());
+        }
+        writer.writeEndDocument();
+    }
+
+    // Mirrors readId: ids in ObjectId form go back out as ObjectIds
+    private static void writeId(BsonWriter writer, String id) {
+        if (ObjectId.isValid(id)) {
+            writer.writeObjectId(MONGO_ID_FIELD, new ObjectId(id));
+        } else {
+            writer.writeString(MONGO_ID_FIELD, id);
+        }
+    }
+
+    private static void writeString(BsonWriter writer, String fieldName, String value) {
+        if (value != null) {
+            writer.writeString(fieldName, value);
+        }
+    }
+
+    private static void writePoint(BsonWriter writer, String fieldName, Double longitude, Double latitude) {
+        if (longitude == null || latitude == null) {
+            return;
+        }
+        writer.writeStartDocument(fieldName);
+        writer.writeString(TYPE_FIELD, POINT_TYPE);
+        writer.writeStartArray(COORDINATES_FIELD);
+        writer.writeDouble(longitude);
+        writer.writeDouble(latitude);
+        writer.writeEndArray();
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<RideResponse> getEncoderClass() {
+        return RideResponse.class;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.RideStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RideStatsRepository extends MongoRepository<RideStats, String>, RideStatsRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.RideStats;
+
+import java.util.Collection;
+
+public interface RideStatsRepositoryCustom {
+
+    /**
+     * Adds {@code counts} to the statistics document {@code id} in one atomic update, creating it if needed, and
+     * removes {@code removedHours}. countingSince keeps the earliest value and each hour's maximum accept latency
+     * the largest. Returns the document as updated.
+     */
+    RideStats addCounts(String id, RideStats counts, Collection<String> removedHours);
+}
@@ -0,0 +1,46 @@
+package org.example.rideshare.repository;
+
+import org.example.rideshare.model.RideStats;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Map;
+
+class RideStatsRepositoryImpl implements RideStatsRepositoryCustom {
+
+    private static final FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options()
+            .upsert(true)
+            .returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    RideStatsRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public RideStats addCounts(String id, RideStats counts, Collection<String> removedHours) {
+        Update update = new Update()
+                .min("countingSince", counts.getCountingSince())
+                .set("updatedAt", counts.getUpdatedAt());
+        incrementAll(update, "transitions", counts.getTransitions());
+        counts.getHours().forEach((start, hour) -> {
+            String path = "hours." + start;
+            incrementAll(update, path + ".transitions", hour.getTransitions());
+            update.inc(path + ".acceptLatencyTotalMillis", hour.getAcceptLatencyTotalMillis())
+                    .inc(path + ".acceptLatencyCount", hour.getAcceptLatencyCount())
+                    .max(path + ".acceptLatencyMaxMillis", hour.getAcceptLatencyMaxMillis());
+        });
+        removedHours.forEach(start -> update.unset("hours." + start));
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(id)), update, UPSERT_RETURN_NEW,
+                RideStats.class);
+    }
+
+    private static void incrementAll(Update update, String path, Map<String, Long> counts) {
+        counts.forEach((key, count) -> update.inc(path + "." + key, count));
+    }
+}
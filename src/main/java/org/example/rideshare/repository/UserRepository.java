@@ -9,6 +9,5 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByUsername(String username);
-    boolean existsByUsername(String username);
 }
 
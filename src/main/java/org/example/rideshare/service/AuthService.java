@@ -4,11 +4,14 @@ import org.example.rideshare.dto.AuthResponse;
 import org.example.rideshare.dto.LoginRequest;
 import org.example.rideshare.dto.RegisterRequest;
 import org.example.rideshare.exception.BadRequestException;
+import org.example.rideshare.exception.ServiceUnavailableException;
 import org.example.rideshare.model.User;
 import org.example.rideshare.repository.UserRepository;
 import org.example.rideshare.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
@@ -16,39 +19,49 @@ import java.util.Set;
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final UserCredentialsCache credentialsCache;
     private static final Set<String> VALID_ROLES = Set.of("ROLE_USER", "ROLE_DRIVER");
+    static final String USERNAME_TAKEN_MESSAGE = "Username already exists";
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, PasswordHashingService passwordHashingService, JwtUtil jwtUtil,
+                       UserCredentialsCache credentialsCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
+        this.credentialsCache = credentialsCache;
     }
 
     public AuthResponse register(RegisterRequest request) {
-        validateUsernameAvailability(request.getUsername());
         validateRole(request.getRole());
 
         User newUser = buildUserFromRequest(request);
-        User savedUser = userRepository.save(newUser);
+        User savedUser = saveNewUser(newUser);
+        credentialsCache.invalidate(savedUser.getUsername());
 
         String jwtToken = jwtUtil.generateToken(savedUser.getUsername(), savedUser.getRole());
-        return buildAuthResponse(jwtToken, savedUser);
+        return buildAuthResponse(jwtToken, savedUser.getUsername(), savedUser.getRole());
     }
 
     public AuthResponse login(LoginRequest request) {
-        User user = findUserByUsername(request.getUsername());
-        validatePassword(request.getPassword(), user.getPassword());
+        UserCredentials credentials = findCredentials(request.getUsername());
+        validatePassword(request.getPassword(), credentials.passwordHash());
+        rehashIfOutdated(credentials, request.getPassword());
 
-        String jwtToken = jwtUtil.generateToken(user.getUsername(), user.getRole());
-        return buildAuthResponse(jwtToken, user);
+        String jwtToken = jwtUtil.generateToken(credentials.username(), credentials.role());
+        return buildAuthResponse(jwtToken, credentials.username(), credentials.role());
     }
 
-    private void validateUsernameAvailability(String username) {
-        if (userRepository.existsByUsername(username)) {
-            throw new BadRequestException("Username already exists");
+    // The unique username index rejects duplicates atomically, so no separate existence check is needed
+    private User saveNewUser(User user) {
+        try {
+            return userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new BadRequestException(USERNAME_TAKEN_MESSAGE);
         }
     }
 
@@ -61,24 +74,44 @@ public class AuthService {
     private User buildUserFromRequest(RegisterRequest request) {
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRole(request.getRole());
         return user;
     }
 
-    private User findUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+    private UserCredentials findCredentials(String username) {
+        return credentialsCache.get(username, name -> userRepository.findByUsername(name).map(UserCredentials::from))
                 .orElseThrow(() -> new BadCredentialsException("Invalid username or password"));
     }
 
     private void validatePassword(String rawPassword, String encodedPassword) {
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        if (!passwordHashingService.matches(rawPassword, encodedPassword)) {
             throw new BadCredentialsException("Invalid username or password");
         }
     }
 
-    private AuthResponse buildAuthResponse(String token, User user) {
-        return new AuthResponse(token, user.getUsername(), user.getRole());
+    // Upgrades hashes created with an older work factor; only possible while we hold the raw password.
+    // Best effort: the password already matched, so a saturated hashing pool skips the upgrade until a later login
+    private void rehashIfOutdated(UserCredentials credentials, String rawPassword) {
+        if (!passwordHashingService.needsRehash(credentials.passwordHash())) {
+            return;
+        }
+        String encodedPassword;
+        try {
+            encodedPassword = passwordHashingService.encode(rawPassword);
+        } catch (ServiceUnavailableException e) {
+            log.info("Skipped password rehash for {}: {}", credentials.username(), e.getMessage());
+            return;
+        }
+        userRepository.findById(credentials.id()).ifPresent(user -> {
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+        });
+        credentialsCache.invalidate(credentials.username());
+    }
+
+    private AuthResponse buildAuthResponse(String token, String username, String role) {
+        return new AuthResponse(token, username, role);
     }
 }
 
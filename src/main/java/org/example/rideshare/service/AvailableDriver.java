@@ -0,0 +1,9 @@
+package org.example.rideshare.service;
+
+import java.time.Instant;
+
+/**
+ * A driver waiting for a dispatched ride, at the position last reported.
+ */
+public record AvailableDriver(String driverId, double latitude, double longitude, Instant updatedAt) {
+}
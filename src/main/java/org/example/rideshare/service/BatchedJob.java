@@ -0,0 +1,67 @@
+package org.example.rideshare.service;
+
+import org.slf4j.Logger;
+
+import java.util.function.IntSupplier;
+
+/**
+ * The throttling shared by the scheduled batch jobs: a run works through the backlog in batches of
+ * batch-size items, pausing between batches and stopping after max-batches-per-run, so a large backlog is
+ * cleared over several runs rather than in one burst of writes.
+ */
+final class BatchedJob {
+
+    private final Logger log;
+    private final String name;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final int maxBatchesPerRun;
+
+    BatchedJob(Logger log, String name, int batchSize, long batchPauseMillis, int maxBatchesPerRun) {
+        this.log = log;
+        this.name = name;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Runs batches until one handles fewer than batch-size items, the cap is reached, the thread is
+     * interrupted or a batch fails. A failure ends the run with a warning; the next run picks up the rest.
+     */
+    void run(IntSupplier batch) {
+        for (int batchNumber = 0; batchNumber < maxBatchesPerRun; batchNumber++) {
+            if (batchNumber > 0 && !pause()) {
+                return;
+            }
+            int handled;
+            try {
+                handled = batch.getAsInt();
+            } catch (RuntimeException e) {
+                log.warn("{} run failed: {}", name, e.getMessage());
+                return;
+            }
+            if (handled < batchSize) {
+                return;
+            }
+        }
+        log.info("{} stopped after {} batches; the rest is left for the next run", name, maxBatchesPerRun);
+    }
+
+    private boolean pause() {
+        if (batchPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.repository.RideRepository;
+import org.example.rideshare.util.RideCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional dispatch mode: on a fixed delay, pairs the oldest REQUESTED rides that have pickup coordinates
+ * and a driver in range with the drivers available on this node and accepts every pair in one bulk write.
+ * Matched drivers leave the pool before the write and learn about their ride from the ride-accepted event on
+ * the driver stream. Manual accepts keep working alongside; whichever write lands first wins the ride.
+ */
+@Component
+@ConditionalOnProperty(name = "rides.dispatch.enabled", havingValue = "true")
+public class DispatchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchEngine.class);
+
+    private final RideService rideService;
+    private final RideRepository rideRepository;
+    private final PendingRideIndex pendingRideIndex;
+    private final DriverAvailabilityService driverAvailabilityService;
+    private final int batchSize;
+    private final double maxDistanceMeters;
+    private final int optimalMaxPairs;
+    private final int maxScannedRides;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer greedyBatchTimer;
+    private final Timer optimalBatchTimer;
+    private final Counter matches;
+
+    public DispatchEngine(RideService rideService, RideRepository rideRepository, PendingRideIndex pendingRideIndex,
+                          DriverAvailabilityService driverAvailabilityService,
+                          @Value("${rides.dispatch.batch-size:500}") int batchSize,
+                          @Value("${rides.dispatch.max-distance-meters:10000}") double maxDistanceMeters,
+                          @Value("${rides.dispatch.optimal-max-pairs:4096}") int optimalMaxPairs,
+                          @Value("${rides.dispatch.max-scanned-rides:5000}") int maxScannedRides,
+                          MeterRegistry meterRegistry) {
+        this.rideService = rideService;
+        this.rideRepository = rideRepository;
+        this.pendingRideIndex = pendingRideIndex;
+        this.driverAvailabilityService = driverAvailabilityService;
+        this.batchSize = batchSize;
+        this.maxDistanceMeters = maxDistanceMeters;
+        this.optimalMaxPairs = optimalMaxPairs;
+        this.maxScannedRides = maxScannedRides;
+
+        this.meterRegistry = meterRegistry;
+        this.greedyBatchTimer = batchTimer(DispatchMatcher.Algorithm.GREEDY, meterRegistry);
+        this.optimalBatchTimer = batchTimer(DispatchMatcher.Algorithm.OPTIMAL, meterRegistry);
+        this.matches = Counter.builder("rides.dispatch.matches")
+                .description("Rides assigned to a driver by the dispatch engine")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rides.dispatch.interval-ms:250}")
+    public void dispatch() {
+        try {
+            dispatchBatch();
+        } catch (RuntimeException e) {
+            // Unassigned rides stay REQUESTED for the next run; drivers claimed for the failed write rejoin the
+            // pool when they next renew their availability, so none can end up with two rides
+            log.warn("Dispatch batch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one matching round and returns the rides that were assigned.
+     */
+    List<RideResponse> dispatchBatch() {
+        List<AvailableDriver> drivers = driverAvailabilityService.getAvailableDrivers();
+        if (drivers.isEmpty()) {
+            return List.of();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<RideResponse> rides = loadDispatchableRides(drivers);
+        DispatchMatcher.Algorithm algorithm = DispatchMatcher.chooseAlgorithm(
+                rides.size(), drivers.size(), optimalMaxPairs);
+        List<DispatchMatcher.Assignment> assignments = DispatchMatcher.match(
+                rides, drivers, algorithm, maxDistanceMeters);
+        List<RideResponse> assignedRides = assignments.isEmpty() ? List.of() : assign(assignments);
+        sample.stop(algorithm == DispatchMatcher.Algorithm.OPTIMAL ? optimalBatchTimer : greedyBatchTimer);
+        return assignedRides;
+    }
+
+    // Claiming drivers before the write drops the pairs of drivers who accepted a ride by hand while the batch
+    // was loading and matching; drivers whose ride was taken by someone else go back to the pool afterwards
+    private List<RideResponse> assign(List<DispatchMatcher.Assignment> assignments) {
+        Map<String, String> driverIdsByRideId = new LinkedHashMap<>();
+        Map<String, AvailableDriver> claimedDrivers = new HashMap<>();
+        for (DispatchMatcher.Assignment assignment : assignments) {
+            AvailableDriver claimed = driverAvailabilityService.claim(assignment.driver().driverId());
+            if (claimed != null) {
+                claimedDrivers.put(claimed.driverId(), claimed);
+                driverIdsByRideId.put(assignment.ride().getId(), claimed.driverId());
+            }
+        }
+        if (driverIdsByRideId.isEmpty()) {
+            return List.of();
+        }
+        List<RideResponse> assignedRides = rideService.assignDrivers(driverIdsByRideId);
+        assignedRides.forEach(ride -> claimedDrivers.remove(ride.getDriverId()));
+        claimedDrivers.values().forEach(driverAvailabilityService::release);
+        matches.increment(assignedRides.size());
+        return assignedRides;
+    }
+
+    /**
+     * The oldest batch-size pending rides with pickup coordinates and at least one of the drivers in range.
+     * Rides no driver can reach are paged past, up to max-scanned-rides per run, so they cannot hold back
+     * newer rides that could be matched.
+     */
+    private List<RideResponse> loadDispatchableRides(List<AvailableDriver> drivers) {
+        List<RideResponse> dispatchableRides = new ArrayList<>(batchSize);
+        RideCursor after = null;
+        int scanned = 0;
+        while (dispatchableRides.size() < batchSize && scanned < maxScannedRides) {
+            List<RideResponse> page = loadPendingRides(after);
+            for (RideResponse ride : page) {
+                if (dispatchableRides.size() < batchSize
+                        && ride.getPickupLatitude() != null && ride.getPickupLongitude() != null
+                        && DispatchMatcher.isWithinReach(ride, drivers, maxDistanceMeters)) {
+                    dispatchableRides.add(ride);
+                }
+            }
+            scanned += page.size();
+            if (page.size() < batchSize) {
+                break;
+            }
+            RideResponse last = page.get(page.size() - 1);
+            after = new RideCursor(last.getCreatedAt(), last.getId());
+        }
+        return dispatchableRides;
+    }
+
+    // Without the index, rides lacking pickup coordinates are already left out by the query
+    private List<RideResponse> loadPendingRides(RideCursor after) {
+        if (pendingRideIndex.isReady()) {
+            return pendingRideIndex.page(after, batchSize);
+        }
+        return rideRepository.findLocatedResponsePageByStatus(RideService.STATUS_REQUESTED,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, batchSize);
+    }
+
+    private static Timer batchTimer(DispatchMatcher.Algorithm algorithm, MeterRegistry meterRegistry) {
+        return Timer.builder("rides.dispatch.batch")
+                .description("Time to load, match and bulk-assign one dispatch batch")
+                .tag("algorithm", algorithm.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pairs pending rides with available drivers by pickup distance. Small batches are solved optimally
+ * (the most pairs possible, then the least total pickup distance); larger ones greedily, giving each ride,
+ * oldest first, the nearest driver still free. Pairs further apart than the maximum distance are never made.
+ */
+final class DispatchMatcher {
+
+    enum Algorithm { GREEDY, OPTIMAL }
+
+    record Assignment(RideResponse ride, AvailableDriver driver, double distanceMeters) {
+    }
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private DispatchMatcher() {
+    }
+
+    /**
+     * Rides must carry pickup coordinates and be ordered oldest first.
+     */
+    static List<Assignment> match(List<RideResponse> rides, List<AvailableDriver> drivers, Algorithm algorithm,
+                                  double maxDistanceMeters) {
+        if (rides.isEmpty() || drivers.isEmpty()) {
+            return List.of();
+        }
+        double[][] distances = new double[rides.size()][drivers.size()];
+        for (int r = 0; r < rides.size(); r++) {
+            RideResponse ride = rides.get(r);
+            for (int d = 0; d < drivers.size(); d++) {
+                AvailableDriver driver = drivers.get(d);
+                distances[r][d] = distanceMeters(ride.getPickupLatitude(), ride.getPickupLongitude(),
+                        driver.latitude(), driver.longitude());
+            }
+        }
+        int[] driverByRide = algorithm == Algorithm.OPTIMAL
+                ? optimal(distances, maxDistanceMeters)
+                : greedy(distances, maxDistanceMeters);
+
+        List<Assignment> assignments = new ArrayList<>();
+        for (int r = 0; r < driverByRide.length; r++) {
+            int d = driverByRide[r];
+            if (d >= 0 && distances[r][d] <= maxDistanceMeters) {
+                assignments.add(new Assignment(rides.get(r), drivers.get(d), distances[r][d]));
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Whether any of the drivers is within the maximum distance of the ride's pickup.
+     */
+    static boolean isWithinReach(RideResponse ride, List<AvailableDriver> drivers, double maxDistanceMeters) {
+        for (AvailableDriver driver : drivers) {
+            if (distanceMeters(ride.getPickupLatitude(), ride.getPickupLongitude(), driver.latitude(),
+                    driver.longitude()) <= maxDistanceMeters) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Algorithm chooseAlgorithm(int rideCount, int driverCount, int optimalMaxPairs) {
+        return (long) rideCount * driverCount <= optimalMaxPairs ? Algorithm.OPTIMAL : Algorithm.GREEDY;
+    }
+
+    private static int[] greedy(double[][] distances, double maxDistanceMeters) {
+        int driverCount = distances[0].length;
+        boolean[] taken = new boolean[driverCount];
+        int[] driverByRide = new int[distances.length];
+        Arrays.fill(driverByRide, -1);
+        for (int r = 0; r < distances.length; r++) {
+            int nearest = -1;
+            for (int d = 0; d < driverCount; d++) {
+                if (!taken[d] && distances[r][d] <= maxDistanceMeters
+                        && (nearest < 0 || distances[r][d] < distances[r][nearest])) {
+                    nearest = d;
+                }
+            }
+            if (nearest >= 0) {
+                taken[nearest] = true;
+                driverByRide[r] = nearest;
+            }
+        }
+        return driverByRide;
+    }
+
+    /**
+     * Minimum-cost assignment (Hungarian method with potentials, O(n^2 m) for n <= m). Out-of-range pairs
+     * cost more than every in-range pair combined, so the number of real pairs is maximised first.
+     */
+    private static int[] optimal(double[][] distances, double maxDistanceMeters) {
+        int rideCount = distances.length;
+        int driverCount = distances[0].length;
+        boolean transposed = rideCount > driverCount;
+        int n = transposed ? driverCount : rideCount;
+        int m = transposed ? rideCount : driverCount;
+        double outOfRange = maxDistanceMeters * n + 1;
+
+        // 1-based arrays; column 0 is the virtual start of each augmenting path
+        double[][] cost = new double[n + 1][m + 1];
+        for (int i = 1; i <= n; i++) {
+            for (int j = 1; j <= m; j++) {
+                double distance = transposed ? distances[j - 1][i - 1] : distances[i - 1][j - 1];
+                cost[i][j] = distance <= maxDistanceMeters ? distance : outOfRange;
+            }
+        }
+        double[] rowPotential = new double[n + 1];
+        double[] columnPotential = new double[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] previousColumn = new int[m + 1];
+        for (int i = 1; i <= n; i++) {
+            rowOfColumn[0] = i;
+            int column = 0;
+            double[] minSlack = new double[m + 1];
+            Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+            boolean[] visited = new boolean[m + 1];
+            do {
+                visited[column] = true;
+                int row = rowOfColumn[column];
+                double delta = Double.POSITIVE_INFINITY;
+                int nextColumn = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!visited[j]) {
+                        double slack = cost[row][j] - rowPotential[row] - columnPotential[j];
+                        if (slack < minSlack[j]) {
+                            minSlack[j] = slack;
+                            previousColumn[j] = column;
+                        }
+                        if (minSlack[j] < delta) {
+                            delta = minSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (visited[j]) {
+                        rowPotential[rowOfColumn[j]] += delta;
+                        columnPotential[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+            do {
+                int previous = previousColumn[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] driverByRide = new int[rideCount];
+        Arrays.fill(driverByRide, -1);
+        for (int j = 1; j <= m; j++) {
+            int i = rowOfColumn[j];
+            if (i != 0) {
+                if (transposed) {
+                    driverByRide[j - 1] = i - 1;
+                } else {
+                    driverByRide[i - 1] = j - 1;
+                }
+            }
+        }
+        return driverByRide;
+    }
+
+    static double distanceMeters(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rideshare.dto.DriverAvailabilityRequest;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drivers that declared themselves available for dispatch on this node. A declaration lapses unless it
+ * is renewed within the availability TTL, and a driver leaves the pool once they accept a ride, whether by
+ * hand or through dispatch.
+ */
+@Service
+public class DriverAvailabilityService {
+
+    private final Map<String, AvailableDriver> availableDrivers = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Duration availabilityTtl;
+
+    public DriverAvailabilityService(Clock clock,
+                                     @Value("${rides.dispatch.availability-ttl-seconds:120}") long ttlSeconds,
+                                     MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.availabilityTtl = Duration.ofSeconds(ttlSeconds);
+        Gauge.builder("rides.dispatch.available.drivers", availableDrivers, Map::size)
+                .description("Drivers waiting for a dispatched ride on this node")
+                .register(meterRegistry);
+    }
+
+    public void updateAvailability(String driverId, DriverAvailabilityRequest request) {
+        if (!Boolean.TRUE.equals(request.getAvailable())) {
+            availableDrivers.remove(driverId);
+            return;
+        }
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            throw new BadRequestException("Latitude and longitude are required when available");
+        }
+        availableDrivers.put(driverId, new AvailableDriver(
+                driverId, request.getLatitude(), request.getLongitude(), clock.instant()));
+    }
+
+    /**
+     * Moves an available driver to their latest reported position. Their place in the queue and the
+     * lapse of their declaration are unchanged; drivers that are not available stay unavailable.
+     */
+    public void updatePosition(String driverId, double latitude, double longitude) {
+        availableDrivers.computeIfPresent(driverId,
+                (id, driver) -> new AvailableDriver(id, latitude, longitude, driver.updatedAt()));
+    }
+
+    /**
+     * Drivers whose availability has not lapsed, oldest declaration first. Lapsed entries are dropped.
+     */
+    List<AvailableDriver> getAvailableDrivers() {
+        Instant lapsedBefore = clock.instant().minus(availabilityTtl);
+        availableDrivers.values().removeIf(driver -> driver.updatedAt().isBefore(lapsedBefore));
+        List<AvailableDriver> drivers = new ArrayList<>(availableDrivers.values());
+        drivers.sort(Comparator.comparing(AvailableDriver::updatedAt));
+        return drivers;
+    }
+
+    /**
+     * Takes a driver out of the pool for a dispatch write. Returns their entry, or null when they already left:
+     * accepted a ride by hand, withdrew or lapsed since the batch was matched.
+     */
+    AvailableDriver claim(String driverId) {
+        return availableDrivers.remove(driverId);
+    }
+
+    /**
+     * Puts a claimed driver back when the dispatch write did not give them the ride, keeping their place in the
+     * queue. A newer declaration made in the meantime wins.
+     */
+    void release(AvailableDriver driver) {
+        availableDrivers.putIfAbsent(driver.driverId(), driver);
+    }
+
+    // Dispatched rides raise the same event, so this covers both ways of accepting
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        if (event.type() == RideEventType.ACCEPTED && event.ride().getDriverId() != null) {
+            availableDrivers.remove(event.ride().getDriverId());
+        }
+    }
+}
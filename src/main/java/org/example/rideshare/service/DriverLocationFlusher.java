@@ -0,0 +1,83 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.rideshare.model.DriverLocation;
+import org.example.rideshare.repository.DriverLocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Periodically writes the latest position of every driver that reported since the previous flush,
+ * in bulk upserts of at most batch-size drivers, and drops drivers that stopped reporting from the index.
+ */
+@Component
+public class DriverLocationFlusher {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverLocationFlusher.class);
+
+    private final DriverLocationIndex driverLocationIndex;
+    private final DriverLocationRepository driverLocationRepository;
+    private final int batchSize;
+    private final Timer flushTimer;
+    private final Counter flushedLocations;
+
+    public DriverLocationFlusher(DriverLocationIndex driverLocationIndex,
+                                 DriverLocationRepository driverLocationRepository,
+                                 @Value("${drivers.location.flush-batch-size:1000}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.driverLocationIndex = driverLocationIndex;
+        this.driverLocationRepository = driverLocationRepository;
+        this.batchSize = batchSize;
+        this.flushTimer = Timer.builder("drivers.location.flush")
+                .description("Time to persist the driver positions reported since the previous flush")
+                .register(meterRegistry);
+        this.flushedLocations = Counter.builder("drivers.location.flushed")
+                .description("Driver positions written to the driver_locations collection")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${drivers.location.flush-interval-ms:5000}",
+            initialDelayString = "${drivers.location.flush-interval-ms:5000}")
+    public void flush() {
+        int evicted = driverLocationIndex.evictStale();
+        if (evicted > 0) {
+            log.debug("Dropped {} drivers without a recent location report", evicted);
+        }
+        flushTimer.record(this::persistUnpersisted);
+    }
+
+    private void persistUnpersisted() {
+        // Each driver is drained at most once per batch, so this covers everything reported before the flush;
+        // reports arriving while it runs wait for the next one instead of keeping it going
+        int maxBatches = driverLocationIndex.size() / batchSize + 1;
+        List<DriverLocationIndex.DriverPosition> batch = driverLocationIndex.drainUnpersisted(batchSize);
+        for (int batches = 1; !batch.isEmpty(); batches++) {
+            try {
+                driverLocationRepository.upsertAll(batch.stream().map(DriverLocationFlusher::toDocument).toList());
+            } catch (RuntimeException e) {
+                // Kept in memory and retried on the next flush; newer reports still replace them meanwhile
+                driverLocationIndex.markUnpersisted(batch);
+                log.warn("Driver location flush failed: {}", e.getMessage());
+                return;
+            }
+            flushedLocations.increment(batch.size());
+            batch = batches < maxBatches ? driverLocationIndex.drainUnpersisted(batchSize) : List.of();
+        }
+    }
+
+    private static DriverLocation toDocument(DriverLocationIndex.DriverPosition position) {
+        return new DriverLocation(
+                position.driverId(),
+                new GeoJsonPoint(position.longitude(), position.latitude()),
+                new Date(position.reportedAtMillis()));
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest reported position of every driver on this node, bucketed into a grid of fixed-size cells so
+ * "drivers near a point" only visits the cells covering the search circle. A report replaces the
+ * driver's previous position in place; positions older than the TTL are ignored by reads and dropped
+ * by {@link #evictStale()}. Drivers whose position changed since the last {@link #drainUnpersisted(int)}
+ * are tracked so persistence writes each driver at most once per flush, however often they report.
+ *
+ * <p>Each cell holds the positions of its drivers, so a lookup reads them without a second map access.
+ * All maps are {@link ConcurrentHashMap}s, which lock per hash bin: updates for different drivers and
+ * cells proceed in parallel and reads never lock. A driver's position and cell entry change together
+ * inside {@code positions.compute}, always locking the position before the cell. A driver crossing into
+ * another cell leaves the old one before joining the new one, so a concurrent lookup may miss that
+ * driver once but never returns them twice.
+ */
+@Component
+public class DriverLocationIndex {
+
+    record DriverPosition(String driverId, double latitude, double longitude, long cell, long reportedAtMillis) {
+    }
+
+    record NearbyDriver(DriverPosition position, double distanceMeters) {
+    }
+
+    private static final double METERS_PER_DEGREE_LATITUDE = 111_320;
+
+    private final Map<String, DriverPosition> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, DriverPosition>> positionsByCell = new ConcurrentHashMap<>();
+    private final Set<String> unpersistedDriverIds = ConcurrentHashMap.newKeySet();
+    private final Clock clock;
+    private final double cellSizeDegrees;
+    private final int longitudeCellCount;
+    private final long ttlMillis;
+    private final Counter updates;
+
+    public DriverLocationIndex(Clock clock,
+                               @Value("${drivers.location.cell-size-meters:500}") double cellSizeMeters,
+                               @Value("${drivers.location.ttl-seconds:60}") long ttlSeconds,
+                               MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.cellSizeDegrees = cellSizeMeters / METERS_PER_DEGREE_LATITUDE;
+        this.longitudeCellCount = (int) Math.ceil(360 / cellSizeDegrees);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.updates = Counter.builder("drivers.location.updates")
+                .description("Driver location reports applied to the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("drivers.location.tracked", positions, Map::size)
+                .description("Drivers with a position in the in-memory location index")
+                .register(meterRegistry);
+        Gauge.builder("drivers.location.cells", positionsByCell, Map::size)
+                .description("Grid cells holding at least one driver")
+                .register(meterRegistry);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public void report(String driverId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+        long reportedAtMillis = clock.millis();
+        positions.compute(driverId, (id, previous) -> {
+            DriverPosition position = new DriverPosition(id, latitude, longitude, cell, reportedAtMillis);
+            if (previous != null && previous.cell() == cell) {
+                // The driver's entry keeps the cell non-empty, so it cannot be unlinked under us
+                positionsByCell.get(cell).put(id, position);
+            } else {
+                if (previous != null) {
+                    removeFromCell(previous.cell(), id);
+                }
+                addToCell(position);
+            }
+            return position;
+        });
+        unpersistedDriverIds.add(driverId);
+        updates.increment();
+    }
+
+    /**
+     * Returns up to {@code limit} drivers with a live position within {@code radiusMeters} of the point,
+     * nearest first. Cells are visited in rings around the point's cell, and the search stops at the
+     * first ring that cannot hold anything nearer than the farthest of {@code limit} drivers already found.
+     */
+    public List<NearbyDriver> findNearby(double latitude, double longitude, double radiusMeters, int limit) {
+        long reportedAfterMillis = clock.millis() - ttlMillis;
+        // Bounding box of the search circle; circles reaching a pole span every longitude
+        double angularRadius = radiusMeters / DispatchMatcher.EARTH_RADIUS_METERS;
+        double latitudeDelta = Math.toDegrees(angularRadius);
+        double fromLatitude = Math.max(-90, latitude - latitudeDelta);
+        double toLatitude = Math.min(90, latitude + latitudeDelta);
+        double longitudeDeltaSine = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+        boolean allLongitudes = fromLatitude == -90 || toLatitude == 90 || longitudeDeltaSine >= 1;
+
+        int fromLongitudeIndex;
+        int longitudeCells;
+        int centerColumn;
+        double minCosLatitude;
+        if (allLongitudes) {
+            fromLongitudeIndex = 0;
+            longitudeCells = longitudeCellCount;
+            centerColumn = Math.floorMod(longitudeIndex(longitude), longitudeCellCount);
+            // Columns far apart in index may be neighbours across the antimeridian, so rings give no bound
+            minCosLatitude = 0;
+        } else {
+            double longitudeDelta = Math.toDegrees(Math.asin(longitudeDeltaSine));
+            fromLongitudeIndex = longitudeIndex(longitude - longitudeDelta);
+            longitudeCells = Math.min(longitudeCellCount,
+                    longitudeIndex(longitude + longitudeDelta) - fromLongitudeIndex + 1);
+            centerColumn = longitudeIndex(longitude) - fromLongitudeIndex;
+            minCosLatitude = Math.cos(Math.toRadians(Math.max(Math.abs(fromLatitude), Math.abs(toLatitude))));
+        }
+        Grid grid = new Grid(latitudeIndex(fromLatitude), latitudeIndex(toLatitude), latitudeIndex(latitude),
+                fromLongitudeIndex, longitudeCells, centerColumn);
+
+        // The nearest drivers found so far, farthest at the head
+        PriorityQueue<NearbyDriver> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyDriver::distanceMeters).reversed());
+        for (int ring = 0; ring <= grid.maxRing(); ring++) {
+            if (nearest.size() == limit
+                    && ringLowerBoundMeters(ring, minCosLatitude) > nearest.peek().distanceMeters()) {
+                break;
+            }
+            int fromRow = Math.max(-ring, grid.fromLatitudeIndex() - grid.centerRow());
+            int toRow = Math.min(ring, grid.toLatitudeIndex() - grid.centerRow());
+            for (int row = fromRow; row <= toRow; row++) {
+                int step = Math.abs(row) == ring ? 1 : Math.max(1, 2 * ring);
+                for (int column = -ring; column <= ring; column += step) {
+                    if (grid.containsColumn(column)) {
+                        // Search circles crossing the antimeridian wrap around to the cells on the other side
+                        int longitudeIndex = Math.floorMod(
+                                grid.fromLongitudeIndex() + grid.centerColumn() + column, longitudeCellCount);
+                        Map<String, DriverPosition> cellPositions =
+                                positionsByCell.get(cellKey(grid.centerRow() + row, longitudeIndex));
+                        if (cellPositions != null) {
+                            collectNearest(cellPositions.values(), latitude, longitude, radiusMeters,
+                                    reportedAfterMillis, limit, nearest);
+                        }
+                    }
+                }
+            }
+        }
+        List<NearbyDriver> nearby = new ArrayList<>(nearest);
+        nearby.sort(Comparator.comparingDouble(NearbyDriver::distanceMeters));
+        return nearby;
+    }
+
+    /**
+     * Shortest possible distance from a point in the centre cell to any point in a cell {@code ring} cells away:
+     * at least {@code ring - 1} whole cells of latitude or of longitude lie in between.
+     */
+    private double ringLowerBoundMeters(int ring, double minCosLatitude) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double gapRadians = Math.toRadians((ring - 1) * cellSizeDegrees);
+        double acrossLatitude = gapRadians;
+        double acrossLongitude = 2 * Math.asin(Math.min(1, minCosLatitude * Math.sin(gapRadians / 2)));
+        return DispatchMatcher.EARTH_RADIUS_METERS * Math.min(acrossLatitude, acrossLongitude);
+    }
+
+    /**
+     * Cell range covering a search circle. Rows are latitude indexes relative to {@code centerRow};
+     * columns are longitude offsets relative to {@code centerColumn}, itself an offset from
+     * {@code fromLongitudeIndex}.
+     */
+    private record Grid(int fromLatitudeIndex, int toLatitudeIndex, int centerRow,
+                        int fromLongitudeIndex, int longitudeCells, int centerColumn) {
+
+        boolean containsColumn(int column) {
+            int offset = centerColumn + column;
+            return offset >= 0 && offset < longitudeCells;
+        }
+
+        int maxRing() {
+            return Math.max(Math.max(centerRow - fromLatitudeIndex, toLatitudeIndex - centerRow),
+                    Math.max(centerColumn, longitudeCells - 1 - centerColumn));
+        }
+    }
+
+    private static void collectNearest(Collection<DriverPosition> cellPositions, double latitude, double longitude,
+                                       double radiusMeters, long reportedAfterMillis, int limit,
+                                       PriorityQueue<NearbyDriver> nearest) {
+        for (DriverPosition position : cellPositions) {
+            if (position.reportedAtMillis() < reportedAfterMillis) {
+                continue;
+            }
+            double distance = DispatchMatcher.distanceMeters(
+                    latitude, longitude, position.latitude(), position.longitude());
+            if (distance > radiusMeters) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new NearbyDriver(position, distance));
+            } else if (distance < nearest.peek().distanceMeters()) {
+                nearest.poll();
+                nearest.add(new NearbyDriver(position, distance));
+            }
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code max} positions reported since they were last drained.
+     */
+    List<DriverPosition> drainUnpersisted(int max) {
+        List<DriverPosition> drained = new ArrayList<>(Math.min(max, unpersistedDriverIds.size()));
+        Iterator<String> driverIds = unpersistedDriverIds.iterator();
+        while (driverIds.hasNext() && drained.size() < max) {
+            String driverId = driverIds.next();
+            // Unmark before reading, so a report racing with the drain marks the driver again
+            driverIds.remove();
+            DriverPosition position = positions.get(driverId);
+            if (position != null) {
+                drained.add(position);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Marks drained positions for the next drain again, after a failed write.
+     */
+    void markUnpersisted(Collection<DriverPosition> drained) {
+        for (DriverPosition position : drained) {
+            unpersistedDriverIds.add(position.driverId());
+        }
+    }
+
+    /**
+     * Drops drivers that have not reported within the TTL. Returns how many were dropped.
+     */
+    int evictStale() {
+        long reportedAfterMillis = clock.millis() - ttlMillis;
+        int evicted = 0;
+        for (DriverPosition candidate : positions.values()) {
+            if (candidate.reportedAtMillis() >= reportedAfterMillis) {
+                continue;
+            }
+            boolean[] removed = new boolean[1];
+            positions.computeIfPresent(candidate.driverId(), (id, position) -> {
+                if (position.reportedAtMillis() >= reportedAfterMillis) {
+                    return position;
+                }
+                removeFromCell(position.cell(), id);
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // Cells are only created, joined and emptied inside the cell's own compute, so a driver can never
+    // join a cell that a concurrent leave has just emptied and unlinked
+    private void addToCell(DriverPosition position) {
+        positionsByCell.compute(position.cell(), (key, cellPositions) -> {
+            Map<String, DriverPosition> joined = cellPositions != null ? cellPositions : new ConcurrentHashMap<>();
+            joined.put(position.driverId(), position);
+            return joined;
+        });
+    }
+
+    private void removeFromCell(long cell, String driverId) {
+        positionsByCell.computeIfPresent(cell, (key, cellPositions) -> {
+            cellPositions.remove(driverId);
+            return cellPositions.isEmpty() ? null : cellPositions;
+        });
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return cellKey(latitudeIndex(latitude), Math.floorMod(longitudeIndex(longitude), longitudeCellCount));
+    }
+
+    private int latitudeIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDegrees);
+    }
+
+    private int longitudeIndex(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latitudeIndex, int longitudeIndex) {
+        return ((long) latitudeIndex << 32) | (longitudeIndex & 0xffffffffL);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.DriverLocationRequest;
+import org.example.rideshare.dto.NearbyDriverResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Driver location reports and rider-facing nearby driver lookups, both served from the in-memory
+ * {@link DriverLocationIndex}. Reports never touch the database; {@link DriverLocationFlusher} persists
+ * them in batches.
+ */
+@Service
+public class DriverLocationService {
+
+    private final DriverLocationIndex driverLocationIndex;
+    private final DriverAvailabilityService driverAvailabilityService;
+
+    public DriverLocationService(DriverLocationIndex driverLocationIndex,
+                                 DriverAvailabilityService driverAvailabilityService) {
+        this.driverLocationIndex = driverLocationIndex;
+        this.driverAvailabilityService = driverAvailabilityService;
+    }
+
+    public void reportLocation(String driverId, DriverLocationRequest request) {
+        driverLocationIndex.report(driverId, request.getLatitude(), request.getLongitude());
+        // Drivers waiting for dispatch are matched from where they are now, not where they declared availability
+        driverAvailabilityService.updatePosition(driverId, request.getLatitude(), request.getLongitude());
+    }
+
+    public List<NearbyDriverResponse> findNearbyDrivers(double latitude, double longitude,
+                                                        double radiusMeters, int limit) {
+        RideService.validateCoordinates(latitude, longitude);
+        RideService.validateNearbySearchBounds(radiusMeters, limit);
+        return driverLocationIndex.findNearby(latitude, longitude, radiusMeters, limit).stream()
+                .map(nearby -> new NearbyDriverResponse(
+                        nearby.position().latitude(), nearby.position().longitude(), nearby.distanceMeters()))
+                .toList();
+    }
+}
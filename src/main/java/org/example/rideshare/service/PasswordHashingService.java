@@ -0,0 +1,155 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.rideshare.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and matching on a small dedicated pool so that a login burst cannot tie up
+ * every request thread. Work beyond the pool and its queue is rejected immediately with
+ * {@link ServiceUnavailableException} instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String OVERLOADED_MESSAGE = "Authentication is temporarily overloaded, please retry";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password-hashing.pool-size:4}") int poolSize,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+                                  @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.hashingExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or matching a password")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or matching a password")
+                .tag("operation", "match")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hashing requests rejected because the pool and its queue were full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", hashingExecutor, executor -> executor.getQueue().size())
+                .description("Hashing requests waiting for a free hashing thread")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(await(matchesAsync(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #encode}; the future fails with {@link ServiceUnavailableException}
+     * when the pool is saturated or the hash does not finish in time.
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #matches}, with the same failure behaviour as {@link #encodeAsync}.
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Whether the stored hash was produced with weaker settings than the encoder is now configured with.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(task, hashingExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(overloaded());
+        }
+        return result
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(translateFailure(error)));
+    }
+
+    private Throwable translateFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException ? overloaded() : cause;
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException(OVERLOADED_MESSAGE, retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.util.RideCursor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process copy of all REQUESTED rides ordered by (createdAt, id), so pending ride pages can be
+ * served without a database round trip. Local ride events keep it current; writes from other
+ * nodes are picked up by {@link PendingRideIndexReconciler}. Reads never take a lock.
+ */
+@Component
+public class PendingRideIndex {
+
+    private static final Comparator<RideCursor> POSITION_ORDER = Comparator
+            .comparing(RideCursor::createdAt)
+            .thenComparing(RideCursor::id);
+
+    private final ConcurrentSkipListMap<RideCursor, RideResponse> ridesByPosition =
+            new ConcurrentSkipListMap<>(POSITION_ORDER);
+    private final Map<String, Entry> entriesById = new ConcurrentHashMap<>();
+    // Rides that left REQUESTED locally, so a racing create event or an older snapshot cannot re-add them
+    private final Map<String, Long> removedAtById = new ConcurrentHashMap<>();
+
+    private volatile long lastReconciledAtMillis;
+    private volatile boolean ready;
+
+    public PendingRideIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("rides.pending.index.size", entriesById, Map::size)
+                .description("REQUESTED rides held in the in-memory pending ride index")
+                .register(meterRegistry);
+        Gauge.builder("rides.pending.index.staleness", this, PendingRideIndex::getStalenessSeconds)
+                .description("Time since the index was last reconciled against the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    /**
+     * Returns up to {@code limit} pending rides, oldest first, strictly after {@code after}.
+     */
+    public List<RideResponse> page(RideCursor after, int limit) {
+        ConcurrentNavigableMap<RideCursor, RideResponse> view = after == null
+                ? ridesByPosition
+                : ridesByPosition.tailMap(after, false);
+        List<RideResponse> page = new ArrayList<>(limit);
+        for (RideResponse ride : view.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(ride);
+        }
+        return page;
+    }
+
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        if (event.type() == RideEventType.CREATED) {
+            add(event.ride(), System.currentTimeMillis());
+        } else {
+            remove(event.ride().getId());
+        }
+    }
+
+    /**
+     * Brings the index in line with a database snapshot of REQUESTED rides whose read started at
+     * {@code snapshotStartedAtMillis}. Entries added after that instant are kept even when missing
+     * from the snapshot, since the snapshot may simply predate them.
+     */
+    void reconcile(Collection<RideResponse> snapshot, long snapshotStartedAtMillis) {
+        Map<String, RideResponse> snapshotById = new HashMap<>();
+        for (RideResponse ride : snapshot) {
+            snapshotById.put(ride.getId(), ride);
+            add(ride, snapshotStartedAtMillis);
+        }
+        entriesById.forEach((rideId, entry) -> {
+            if (!snapshotById.containsKey(rideId) && entry.addedAtMillis() < snapshotStartedAtMillis) {
+                remove(rideId);
+            }
+        });
+        removedAtById.values().removeIf(removedAt -> removedAt < snapshotStartedAtMillis);
+        lastReconciledAtMillis = snapshotStartedAtMillis;
+        ready = true;
+    }
+
+    private void add(RideResponse ride, long addedAtMillis) {
+        String rideId = ride.getId();
+        if (removedAtById.containsKey(rideId)) {
+            return;
+        }
+        RideCursor position = new RideCursor(ride.getCreatedAt(), rideId);
+        Entry entry = new Entry(position, addedAtMillis);
+        if (entriesById.putIfAbsent(rideId, entry) != null) {
+            return;
+        }
+        ridesByPosition.put(position, ride);
+        // A concurrent remove may have missed the position we just inserted
+        if (removedAtById.containsKey(rideId)) {
+            entriesById.remove(rideId, entry);
+            ridesByPosition.remove(position);
+        }
+    }
+
+    private void remove(String rideId) {
+        removedAtById.put(rideId, System.currentTimeMillis());
+        Entry entry = entriesById.remove(rideId);
+        if (entry != null) {
+            ridesByPosition.remove(entry.position());
+        }
+    }
+
+    private double getStalenessSeconds() {
+        long reconciledAt = lastReconciledAtMillis;
+        if (reconciledAt == 0) {
+            return Double.NaN;
+        }
+        return (System.currentTimeMillis() - reconciledAt) / 1000.0;
+    }
+
+    private record Entry(RideCursor position, long addedAtMillis) {
+    }
+}
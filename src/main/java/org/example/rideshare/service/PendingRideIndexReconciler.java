@@ -0,0 +1,72 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.repository.RideRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads {@link PendingRideIndex} at startup and periodically re-syncs it with the rides collection,
+ * which also picks up rides created or accepted on other nodes.
+ */
+@Component
+public class PendingRideIndexReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingRideIndexReconciler.class);
+
+    private final PendingRideIndex pendingRideIndex;
+    private final RideRepository rideRepository;
+    private final int batchSize;
+
+    public PendingRideIndexReconciler(PendingRideIndex pendingRideIndex,
+                                      RideRepository rideRepository,
+                                      @Value("${rides.pending-index.batch-size:500}") int batchSize) {
+        this.pendingRideIndex = pendingRideIndex;
+        this.rideRepository = rideRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+        if (pendingRideIndex.isReady()) {
+            log.info("Pending ride index warmed up with {} rides", pendingRideIndex.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rides.pending-index.reconcile-interval-ms:30000}",
+            initialDelayString = "${rides.pending-index.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        long startedAtMillis = System.currentTimeMillis();
+        try {
+            pendingRideIndex.reconcile(loadPendingRides(), startedAtMillis);
+        } catch (RuntimeException e) {
+            // Until the first successful load the service keeps reading pending rides from the database
+            log.warn("Pending ride index reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private List<RideResponse> loadPendingRides() {
+        List<RideResponse> pendingRides = new ArrayList<>();
+        List<RideResponse> batch = rideRepository.findResponsePageByStatus(
+                RideService.STATUS_REQUESTED, null, null, batchSize);
+        while (!batch.isEmpty()) {
+            pendingRides.addAll(batch);
+            if (batch.size() < batchSize) {
+                break;
+            }
+            RideResponse last = batch.get(batch.size() - 1);
+            batch = rideRepository.findResponsePageByStatus(
+                    RideService.STATUS_REQUESTED, last.getCreatedAt(), last.getId(), batchSize);
+        }
+        return pendingRides;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.AuthResponse;
+import org.example.rideshare.dto.LoginRequest;
+import org.example.rideshare.dto.RegisterRequest;
+import org.example.rideshare.exception.BadRequestException;
+import org.example.rideshare.exception.ServiceUnavailableException;
+import org.example.rideshare.model.User;
+import org.example.rideshare.repository.ReactiveUserRepository;
+import org.example.rideshare.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link AuthService}. Hashing still runs on the bounded hashing pool;
+ * its futures are bridged into the reactive pipeline instead of being waited on.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthService.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtUtil jwtUtil;
+    private final UserCredentialsCache credentialsCache;
+    private static final Set<String> VALID_ROLES = Set.of("ROLE_USER", "ROLE_DRIVER");
+
+    public ReactiveAuthService(ReactiveUserRepository userRepository, PasswordHashingService passwordHashingService,
+                               JwtUtil jwtUtil, UserCredentialsCache credentialsCache) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtUtil = jwtUtil;
+        this.credentialsCache = credentialsCache;
+    }
+
+    public Mono<AuthResponse> register(RegisterRequest request) {
+        return validateRole(request.getRole())
+                .then(Mono.fromFuture(() -> passwordHashingService.encodeAsync(request.getPassword())))
+                .map(encodedPassword -> buildUser(request, encodedPassword))
+                .flatMap(userRepository::save)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new BadRequestException(AuthService.USERNAME_TAKEN_MESSAGE))
+                .doOnNext(user -> credentialsCache.invalidate(user.getUsername()))
+                .map(user -> buildAuthResponse(user.getUsername(), user.getRole()));
+    }
+
+    public Mono<AuthResponse> login(LoginRequest request) {
+        return findCredentials(request.getUsername())
+                .flatMap(credentials -> Mono.fromFuture(() ->
+                                passwordHashingService.matchesAsync(request.getPassword(), credentials.passwordHash()))
+                        .flatMap(matched -> matched
+                                ? rehashIfOutdated(credentials, request.getPassword())
+                                : Mono.error(new BadCredentialsException("Invalid username or password"))))
+                .map(credentials -> buildAuthResponse(credentials.username(), credentials.role()));
+    }
+
+    private Mono<UserCredentials> findCredentials(String username) {
+        return credentialsCache.getAsync(username, name -> userRepository.findByUsername(name)
+                        .map(UserCredentials::from)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()))
+                .flatMap(credentials -> credentials
+                        .map(Mono::just)
+                        .orElseGet(() -> Mono.error(new BadCredentialsException("Invalid username or password"))));
+    }
+
+    private Mono<Void> validateRole(String role) {
+        if (!VALID_ROLES.contains(role)) {
+            return Mono.error(new BadRequestException("Role must be ROLE_USER or ROLE_DRIVER"));
+        }
+        return Mono.empty();
+    }
+
+    private User buildUser(RegisterRequest request, String encodedPassword) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setPassword(encodedPassword);
+        user.setRole(request.getRole());
+        return user;
+    }
+
+    // Best effort, as in AuthService: a saturated hashing pool skips the upgrade instead of failing the login
+    private Mono<UserCredentials> rehashIfOutdated(UserCredentials credentials, String rawPassword) {
+        if (!passwordHashingService.needsRehash(credentials.passwordHash())) {
+            return Mono.just(credentials);
+        }
+        return Mono.fromFuture(() -> passwordHashingService.encodeAsync(rawPassword))
+                .flatMap(encodedPassword -> userRepository.findById(credentials.id())
+                        .flatMap(user -> {
+                            user.setPassword(encodedPassword);
+                            return userRepository.save(user);
+                        }))
+                .doOnSuccess(user -> credentialsCache.invalidate(credentials.username()))
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.info("Skipped password rehash for {}: {}", credentials.username(), e.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn(credentials);
+    }
+
+    private AuthResponse buildAuthResponse(String username, String role) {
+        String jwtToken = jwtUtil.generateToken(username, role);
+        return new AuthResponse(jwtToken, username, role);
+    }
+}
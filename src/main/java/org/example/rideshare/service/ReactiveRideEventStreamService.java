@@ -0,0 +1,54 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * WebFlux counterpart of {@link RideEventStreamService}: every subscriber gets its own bounded
+ * buffer and is disconnected when it overflows.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRideEventStreamService {
+
+    private static final Duration EMIT_RETRY_WINDOW = Duration.ofMillis(100);
+
+    private final Sinks.Many<RideEvent> rideEvents = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Duration timeout;
+
+    public ReactiveRideEventStreamService(@Value("${rides.stream.buffer-size:64}") int bufferSize,
+                                          @Value("${rides.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public Flux<ServerSentEvent<RideResponse>> subscribe() {
+        return rideEvents.asFlux()
+                .onBackpressureBuffer(bufferSize, BufferOverflowStrategy.ERROR)
+                .map(event -> ServerSentEvent.builder(event.ride())
+                        .event(event.type().getEventName())
+                        .build())
+                .take(timeout)
+                .onErrorComplete();
+    }
+
+    public int getSubscriberCount() {
+        return rideEvents.currentSubscriberCount();
+    }
+
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        rideEvents.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY_WINDOW));
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.repository.ReactiveRideRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of {@link RideExportService}. The cursor is drained only as fast as the
+ * client reads, so memory stays bounded by the cursor batch and the encoder's buffer.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRideExportService {
+
+    private final ReactiveRideRepository rideRepository;
+    private final int batchSize;
+
+    public ReactiveRideExportService(ReactiveRideRepository rideRepository,
+                                     @Value("${rides.export.batch-size:1000}") int batchSize) {
+        this.rideRepository = rideRepository;
+        this.batchSize = batchSize;
+    }
+
+    public Flux<RideResponse> exportRides(String status, String userId, String driverId,
+                                          Instant createdFrom, Instant createdTo) {
+        return Flux.defer(() -> {
+            RideService.validateTimeRange(createdFrom, createdTo);
+            return rideRepository.streamForExport(status, userId, driverId,
+                    RideService.toDate(createdFrom), RideService.toDate(createdTo), batchSize);
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.rideshare.dto.CreateRideRequest;
+import org.example.rideshare.dto.DriverRideSummaryResponse;
+import org.example.rideshare.dto.RidePage;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.repository.ReactiveRideRepository;
+import org.example.rideshare.util.RideCursor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Non-blocking counterpart of {@link RideService} used by the WebFlux deployment. Validation,
+ * mapping, paging, the published events and the ride meters are shared with the blocking service;
+ * operations are timed from subscription until the result, error or cancellation.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRideService {
+
+    private final ReactiveRideRepository rideRepository;
+    private final PendingRideIndex pendingRideIndex;
+    private final RideIdempotencyCache idempotencyCache;
+    private final RideArchivePolicy archivePolicy;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The same meter names and tags as RideService, so the registry hands both services the same meters
+    private final MeterRegistry meterRegistry;
+    private final Timer createTimer;
+    private final Timer acceptTimer;
+    private final Timer completeTimer;
+    private final Timer cancelTimer;
+    private final Timer listUserTimer;
+    private final Timer listPendingTimer;
+    private final Timer listNearbyTimer;
+    private final Timer listDriverTimer;
+    private final Timer driverSummaryTimer;
+    private final Counter requestedTransitions;
+    private final Counter acceptedTransitions;
+    private final Counter completedTransitions;
+    private final Counter cancelledTransitions;
+    private final Counter acceptConflicts;
+    private final Counter completeConflicts;
+    private final Counter cancelConflicts;
+
+    public ReactiveRideService(ReactiveRideRepository rideRepository, PendingRideIndex pendingRideIndex,
+                               RideIdempotencyCache idempotencyCache, RideArchivePolicy archivePolicy,
+                               ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.rideRepository = rideRepository;
+        this.pendingRideIndex = pendingRideIndex;
+        this.idempotencyCache = idempotencyCache;
+        this.archivePolicy = archivePolicy;
+        this.eventPublisher = eventPublisher;
+
+        this.meterRegistry = meterRegistry;
+        this.createTimer = RideService.operationTimer("create", meterRegistry);
+        this.acceptTimer = RideService.operationTimer("accept", meterRegistry);
+        this.completeTimer = RideService.operationTimer("complete", meterRegistry);
+        this.cancelTimer = RideService.operationTimer("cancel", meterRegistry);
+        this.listUserTimer = RideService.operationTimer("list-user", meterRegistry);
+        this.listPendingTimer = RideService.operationTimer("list-pending", meterRegistry);
+        this.listNearbyTimer = RideService.operationTimer("list-nearby", meterRegistry);
+        this.listDriverTimer = RideService.operationTimer("list-driver", meterRegistry);
+        this.driverSummaryTimer = RideService.operationTimer("driver-summary", meterRegistry);
+        this.requestedTransitions = RideService.transitionCounter(RideService.STATUS_REQUESTED, meterRegistry);
+        this.acceptedTransitions = RideService.transitionCounter(RideService.STATUS_ACCEPTED, meterRegistry);
+        this.completedTransitions = RideService.transitionCounter(RideService.STATUS_COMPLETED, meterRegistry);
+        this.cancelledTransitions = RideService.transitionCounter(RideService.STATUS_CANCELLED, meterRegistry);
+        this.acceptConflicts = RideService.conflictCounter("accept", meterRegistry);
+        this.completeConflicts = RideService.conflictCounter("complete", meterRegistry);
+        this.cancelConflicts = RideService.conflictCounter("cancel", meterRegistry);
+    }
+
+    public Mono<RideResponse> createRide(CreateRideRequest request, String userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return timed(createTimer, insertRide(request, userId, null));
+        }
+        // Cancellation of one duplicate must not cancel the insert the others are waiting on
+        return Mono.fromRunnable(() -> RideService.validateIdempotencyKey(idempotencyKey))
+                .then(timed(createTimer, Mono.fromFuture(() -> idempotencyCache.getOrCreate(userId, idempotencyKey,
+                        () -> insertRide(request, userId, idempotencyKey).toFuture()), true)));
+    }
+
+    private Mono<RideResponse> insertRide(CreateRideRequest request, String userId, String idempotencyKey) {
+        return Mono.fromCallable(() -> RideService.initializeRide(request, userId, idempotencyKey))
+                .flatMap(rideRepository::insert)
+                .map(RideService::mapRideToResponse)
+                .doOnNext(ride -> {
+                    requestedTransitions.increment();
+                    publish(RideEventType.CREATED, ride);
+                })
+                .onErrorResume(DuplicateKeyException.class, e -> rideRepository
+                        .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                        .map(RideService::mapRideToResponse)
+                        .switchIfEmpty(Mono.error(e)));
+    }
+
+    public Mono<RidePage> getUserRides(String userId, String cursor, Integer limit) {
+        return timed(listUserTimer, Mono.defer(() -> {
+            RideCursor after = RideService.decodeCursor(cursor);
+            int pageSize = RideService.resolvePageSize(limit);
+            Date afterCreatedAt = after != null ? after.createdAt() : null;
+            String afterId = after != null ? after.id() : null;
+            return rideRepository.findResponsePageByUserId(userId, afterCreatedAt, afterId, pageSize + 1)
+                    .collectList()
+                    .flatMap(liveRides -> !archivePolicy.mayIncludeArchivedRides(liveRides, pageSize + 1)
+                            ? Mono.just(liveRides)
+                            : rideRepository.findArchivedResponsePageByUserId(
+                                            userId, afterCreatedAt, afterId, pageSize + 1)
+                                    .collectList()
+                                    .map(archivedRides ->
+                                            RideService.mergeNewestFirst(liveRides, archivedRides, pageSize + 1)))
+                    .map(rides -> RideService.toPage(rides, pageSize));
+        }));
+    }
+
+    public Mono<RidePage> getDriverRides(String driverId, String status, Instant createdFrom, Instant createdTo,
+                                         String cursor, Integer limit) {
+        return timed(listDriverTimer, Mono.defer(() -> {
+            RideService.validateTimeRange(createdFrom, createdTo);
+            RideCursor after = RideService.decodeCursor(cursor);
+            int pageSize = RideService.resolvePageSize(limit);
+            Date from = RideService.toDate(createdFrom);
+            Date to = RideService.toDate(createdTo);
+            Date afterCreatedAt = after != null ? after.createdAt() : null;
+            String afterId = after != null ? after.id() : null;
+            return rideRepository.findResponsePageByDriverId(
+                            driverId, status, from, to, afterCreatedAt, afterId, pageSize + 1)
+                    .collectList()
+                    .flatMap(liveRides -> !archivePolicy.mayIncludeArchivedRides(status, liveRides, pageSize + 1)
+                            ? Mono.just(liveRides)
+                            : rideRepository.findArchivedResponsePageByDriverId(
+                                            driverId, status, from, to, afterCreatedAt, afterId, pageSize + 1)
+                                    .collectList()
+                                    .map(archivedRides ->
+                                            RideService.mergeNewestFirst(liveRides, archivedRides, pageSize + 1)))
+                    .map(rides -> RideService.toPage(rides, pageSize));
+        }));
+    }
+
+    public Mono<DriverRideSummaryResponse> getDriverRideSummary(String driverId, Instant createdFrom,
+                                                                Instant createdTo) {
+        return timed(driverSummaryTimer, Mono.defer(() -> {
+            Instant to = createdTo != null ? createdTo : Instant.now();
+            Instant from = createdFrom != null ? createdFrom : RideService.defaultSummaryFrom(to);
+            RideService.validateSummaryRange(from, to);
+            return rideRepository.countDriverRidesByDayAndStatus(driverId, Date.from(from), Date.from(to))
+                    .collectList()
+                    .map(counts -> RideService.summarizeDriverRides(from, to, counts));
+        }));
+    }
+
+    public Mono<RidePage> getPendingRideRequests(String cursor, Integer limit) {
+        return timed(listPendingTimer, Mono.defer(() -> {
+            RideCursor after = RideService.decodeCursor(cursor);
+            int pageSize = RideService.resolvePageSize(limit);
+            if (pendingRideIndex.isReady()) {
+                return Mono.just(RideService.toPage(pendingRideIndex.page(after, pageSize + 1), pageSize));
+            }
+            return rideRepository.findResponsePageByStatus(
+                            RideService.STATUS_REQUESTED, after != null ? after.createdAt() : null,
+                            after != null ? after.id() : null, pageSize + 1)
+                    .collectList()
+                    .map(rides -> RideService.toPage(rides, pageSize));
+        }));
+    }
+
+    public Flux<RideResponse> getNearbyPendingRideRequests(double latitude, double longitude,
+                                                           double radiusMeters, int limit) {
+        return Flux.defer(() -> {
+            RideService.validateCoordinates(latitude, longitude);
+            RideService.validateNearbySearchBounds(radiusMeters, limit);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return rideRepository.findNearestByStatus(
+                            RideService.STATUS_REQUESTED, longitude, latitude, radiusMeters, limit)
+                    .map(RideService::mapRideToResponse)
+                    .doFinally(signal -> sample.stop(listNearbyTimer));
+        });
+    }
+
+    public Mono<RideResponse> acceptRide(String rideId, String driverId) {
+        return timed(acceptTimer, rideRepository
+                .assignDriverIfStatus(rideId, RideService.STATUS_REQUESTED, RideService.STATUS_ACCEPTED, driverId)
+                .switchIfEmpty(Mono.error(() -> RideService.conflict(acceptConflicts,
+                        "Ride not found or no longer in REQUESTED status")))
+                .map(RideService::mapRideToResponse)
+                .doOnNext(ride -> transition(acceptedTransitions, RideEventType.ACCEPTED, ride)));
+    }
+
+    public Mono<RideResponse> completeRide(String rideId) {
+        return timed(completeTimer, rideRepository
+                .updateStatusIfCurrent(rideId, RideService.STATUS_ACCEPTED, RideService.STATUS_COMPLETED)
+                .switchIfEmpty(Mono.error(() -> RideService.conflict(completeConflicts,
+                        "Ride not found or not in ACCEPTED status")))
+                .map(RideService::mapRideToResponse)
+                .doOnNext(ride -> transition(completedTransitions, RideEventType.COMPLETED, ride)));
+    }
+
+    public Mono<RideResponse> cancelRide(String rideId, String userId) {
+        return timed(cancelTimer, rideRepository
+                .updateStatusForUserIfIn(rideId, userId, RideService.CANCELLABLE_STATUSES, RideService.STATUS_CANCELLED)
+                .switchIfEmpty(Mono.error(() -> RideService.conflict(cancelConflicts,
+                        "Ride not found or no longer cancellable")))
+                .map(RideService::mapRideToResponse)
+                .doOnNext(ride -> transition(cancelledTransitions, RideEventType.CANCELLED, ride)));
+    }
+
+    // The reactive form of Timer.record: a fresh sample per subscription, stopped however the operation ends
+    private <T> Mono<T> timed(Timer timer, Mono<T> operation) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return operation.doFinally(signal -> sample.stop(timer));
+        });
+    }
+
+    private void transition(Counter transitions, RideEventType type, RideResponse ride) {
+        transitions.increment();
+        publish(type, ride);
+    }
+
+    private void publish(RideEventType type, RideResponse ride) {
+        eventPublisher.publishEvent(new RideEvent(type, ride));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * When rides become eligible for the archive. Rides in a final state move to the archive collection once
+ * they are older than the retention window, so history reads only need the archive beyond that point.
+ */
+@Component
+public class RideArchivePolicy {
+
+    static final List<String> ARCHIVED_STATUSES = List.of(
+            RideService.STATUS_COMPLETED, RideService.STATUS_CANCELLED, RideService.STATUS_EXPIRED);
+
+    private final Clock clock;
+    private final Duration retention;
+
+    public RideArchivePolicy(Clock clock, @Value("${rides.archive.retention-days:7}") long retentionDays) {
+        this.clock = clock;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Rides created before this instant may have been archived.
+     */
+    Date archivableBefore() {
+        return Date.from(clock.instant().minus(retention));
+    }
+
+    /**
+     * Whether a history page could include archived rides, given the newest-first live rides read for it.
+     * A full page of live rides that ends inside the retention window has no archived ride between them.
+     */
+    boolean mayIncludeArchivedRides(List<RideResponse> liveRides, int limit) {
+        return liveRides.size() < limit
+                || liveRides.get(liveRides.size() - 1).getCreatedAt().before(archivableBefore());
+    }
+
+    /**
+     * Same, for a page filtered to {@code status} (null for any): rides that are not final are never archived.
+     */
+    boolean mayIncludeArchivedRides(String status, List<RideResponse> liveRides, int limit) {
+        return (status == null || ARCHIVED_STATUSES.contains(status)) && mayIncludeArchivedRides(liveRides, limit);
+    }
+}
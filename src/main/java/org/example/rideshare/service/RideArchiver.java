@@ -0,0 +1,66 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.rideshare.repository.RideRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Moves completed, cancelled and expired rides past the retention window from the rides collection to
+ * the archive, batch-size rides per bulk write, so the live collection and its indexes only hold recent
+ * and in-flight rides. Runs are throttled like {@link RideExpirySweeper}'s, through {@link BatchedJob}.
+ */
+@Component
+@ConditionalOnProperty(name = "rides.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class RideArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(RideArchiver.class);
+
+    private final RideRepository rideRepository;
+    private final RideArchivePolicy archivePolicy;
+    private final BatchedJob batches;
+    private final Timer runTimer;
+    private final Counter archivedRides;
+
+    public RideArchiver(RideRepository rideRepository, RideArchivePolicy archivePolicy,
+                        @Value("${rides.archive.batch-size:1000}") int batchSize,
+                        @Value("${rides.archive.batch-pause-ms:200}") long batchPauseMillis,
+                        @Value("${rides.archive.max-batches-per-run:50}") int maxBatchesPerRun,
+                        MeterRegistry meterRegistry) {
+        this.rideRepository = rideRepository;
+        this.archivePolicy = archivePolicy;
+        this.batches = new BatchedJob(log, "Ride archive", batchSize, batchPauseMillis, maxBatchesPerRun);
+        this.runTimer = Timer.builder("rides.archive.run")
+                .description("Time for one archive run, including the pauses between batches")
+                .register(meterRegistry);
+        this.archivedRides = Counter.builder("rides.archived")
+                .description("Rides moved from the rides collection to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rides.archive.interval-ms:600000}",
+            initialDelayString = "${rides.archive.interval-ms:600000}")
+    public void archive() {
+        Date createdBefore = archivePolicy.archivableBefore();
+        runTimer.record(() -> archiveCreatedBefore(createdBefore));
+    }
+
+    // After a failed batch, copies already written are upserted again by the next run before their originals
+    // are deleted
+    void archiveCreatedBefore(Date createdBefore) {
+        batches.run(() -> {
+            int moved = rideRepository.archiveByStatusCreatedBefore(
+                    RideArchivePolicy.ARCHIVED_STATUSES, createdBefore, batches.batchSize());
+            archivedRides.increment(moved);
+            return moved;
+        });
+    }
+}
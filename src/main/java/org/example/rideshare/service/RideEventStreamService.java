@@ -0,0 +1,106 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.event.RideEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans ride events out to connected drivers over server-sent events.
+ * Every connection has its own bounded buffer drained by at most one task at a time, so a slow
+ * client never holds up the publisher or other clients. A client whose buffer overflows is
+ * disconnected and is expected to reconnect and re-list pending rides.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RideEventStreamService {
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final TaskExecutor taskExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public RideEventStreamService(@Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                  @Value("${rides.stream.buffer-size:64}") int bufferSize,
+                                  @Value("${rides.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.taskExecutor = taskExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> close(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.buffer().offer(event)) {
+                scheduleDrain(subscription);
+            } else {
+                close(subscription);
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining().compareAndSet(false, true)) {
+            taskExecutor.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            RideEvent event;
+            while ((event = subscription.buffer().poll()) != null) {
+                subscription.emitter().send(SseEmitter.event()
+                        .name(event.type().getEventName())
+                        .data(event.ride(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscription);
+            return;
+        } finally {
+            subscription.draining().set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscription.buffer().isEmpty()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void close(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.buffer().clear();
+            subscription.emitter().complete();
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, BlockingQueue<RideEvent> buffer, AtomicBoolean draining) {
+        Subscription(SseEmitter emitter, BlockingQueue<RideEvent> buffer) {
+            this(emitter, buffer, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Moves REQUESTED rides nobody accepted within the maximum age to EXPIRED. Each run works through the
+ * backlog oldest first in bulk updates of batch-size rides, throttled by {@link BatchedJob}.
+ */
+@Component
+@ConditionalOnProperty(name = "rides.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class RideExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(RideExpirySweeper.class);
+
+    private final RideService rideService;
+    private final Clock clock;
+    private final Duration maxAge;
+    private final BatchedJob batches;
+    private final Timer sweepTimer;
+
+    public RideExpirySweeper(RideService rideService, Clock clock,
+                             @Value("${rides.expiry.max-age-seconds:900}") long maxAgeSeconds,
+                             @Value("${rides.expiry.batch-size:500}") int batchSize,
+                             @Value("${rides.expiry.batch-pause-ms:200}") long batchPauseMillis,
+                             @Value("${rides.expiry.max-batches-per-run:20}") int maxBatchesPerRun,
+                             MeterRegistry meterRegistry) {
+        this.rideService = rideService;
+        this.clock = clock;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.batches = new BatchedJob(log, "Ride expiry", batchSize, batchPauseMillis, maxBatchesPerRun);
+        this.sweepTimer = Timer.builder("rides.expiry.sweep")
+                .description("Time for one expiry run, including the pauses between batches")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rides.expiry.interval-ms:60000}",
+            initialDelayString = "${rides.expiry.interval-ms:60000}")
+    public void sweep() {
+        Date createdBefore = Date.from(clock.instant().minus(maxAge));
+        sweepTimer.record(() -> expireCreatedBefore(createdBefore));
+    }
+
+    void expireCreatedBefore(Date createdBefore) {
+        batches.run(() -> rideService.expireRequestedRides(createdBefore, batches.batchSize()));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.repository.RideRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams rides as newline-delimited JSON straight from a database cursor to the response. Only one
+ * cursor batch and one encoded ride are held in memory at a time, however many rides match.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RideExportService {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final RideRepository rideRepository;
+    private final ObjectWriter rideWriter;
+    private final int batchSize;
+
+    public RideExportService(RideRepository rideRepository, JsonMapper jsonMapper,
+                             @Value("${rides.export.batch-size:1000}") int batchSize) {
+        this.rideRepository = rideRepository;
+        this.rideWriter = jsonMapper.writerFor(RideResponse.class);
+        this.batchSize = batchSize;
+    }
+
+    public StreamingResponseBody exportRides(String status, String userId, String driverId,
+                                             Instant createdFrom, Instant createdTo) {
+        // Validated up front: once streaming starts the status code is already committed
+        RideService.validateTimeRange(createdFrom, createdTo);
+        return outputStream -> {
+            try (Stream<RideResponse> rides = rideRepository.streamForExport(status, userId, driverId,
+                    RideService.toDate(createdFrom), RideService.toDate(createdTo), batchSize)) {
+                Iterator<RideResponse> iterator = rides.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(rideWriter.writeValueAsBytes(iterator.next()));
+                    outputStream.write(LINE_SEPARATOR);
+                }
+            }
+            outputStream.flush();
+        };
+    }
+}
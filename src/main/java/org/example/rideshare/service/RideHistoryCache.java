@@ -0,0 +1,93 @@
+package org.example.rideshare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Each user's most recent rides, newest first, as served on the first page of their history.
+ * Ride events from this node update cached lists in place. Changes made on other nodes show up
+ * once an entry expires, at most {@code ttl-seconds} after it was loaded. Total size is capped in
+ * rides across all users; the least valuable users are evicted first (Caffeine's W-TinyLFU policy,
+ * which combines recency with access frequency).
+ */
+@Component
+public class RideHistoryCache {
+
+    private final Cache<String, List<RideResponse>> cache;
+    private final int ridesPerUser;
+
+    public RideHistoryCache(MeterRegistry meterRegistry,
+                            @Value("${rides.history-cache.max-rides:200000}") long maxRides,
+                            @Value("${rides.history-cache.rides-per-user:21}") int ridesPerUser,
+                            @Value("${rides.history-cache.ttl-seconds:60}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.ridesPerUser = ridesPerUser;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRides)
+                .weigher((String userId, List<RideResponse> rides) -> rides.size() + 1)
+                // Local updates keep the load time, so cross-node staleness stays bounded by the TTL
+                .expireAfter(Expiry.creating((String userId, List<RideResponse> rides) -> ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rides.history");
+    }
+
+    /**
+     * Number of most recent rides kept per user. A first page of {@code pageSize} can be served from
+     * the cache when {@code pageSize + 1} rides fit, the extra one telling whether another page exists.
+     */
+    public int getRidesPerUser() {
+        return ridesPerUser;
+    }
+
+    public List<RideResponse> getRecentRides(String userId, Function<String, List<RideResponse>> loader) {
+        return cache.get(userId, key -> List.copyOf(loader.apply(key)));
+    }
+
+    // computeIfPresent waits for an in-flight load of the same user and then applies the event to the loaded list.
+    // That load may have read the ride after its insert committed, so the event can find it already cached.
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        RideResponse ride = event.ride();
+        cache.asMap().computeIfPresent(ride.getUserId(), (userId, rides) -> event.type() == RideEventType.CREATED
+                ? prepend(ride, rides)
+                : replace(ride, rides));
+    }
+
+    private List<RideResponse> prepend(RideResponse ride, List<RideResponse> rides) {
+        List<RideResponse> updated = new ArrayList<>(Math.min(rides.size() + 1, ridesPerUser));
+        updated.add(ride);
+        for (int i = 0; i < rides.size() && updated.size() < ridesPerUser; i++) {
+            if (!rides.get(i).getId().equals(ride.getId())) {
+                updated.add(rides.get(i));
+            }
+        }
+        return List.copyOf(updated);
+    }
+
+    // A ride outside the cached window leaves the list untouched
+    private static List<RideResponse> replace(RideResponse ride, List<RideResponse> rides) {
+        for (int i = 0; i < rides.size(); i++) {
+            if (rides.get(i).getId().equals(ride.getId())) {
+                List<RideResponse> updated = new ArrayList<>(rides);
+                updated.set(i, ride);
+                return List.copyOf(updated);
+            }
+        }
+        return rides;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.rideshare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.rideshare.dto.RideResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Node-local record of recent ride creations per (user, Idempotency-Key). The first request for a key
+ * runs the creation; concurrent and later duplicates on this node get the same result without touching
+ * the database. Failed creations are forgotten so the client can retry. Duplicates that reach another
+ * node are caught by the unique (userId, idempotencyKey) index instead.
+ */
+@Component
+public class RideIdempotencyCache {
+
+    private record Key(String userId, String idempotencyKey) {
+    }
+
+    private final Cache<Key, CompletableFuture<RideResponse>> results;
+
+    public RideIdempotencyCache(@Value("${rides.idempotency.max-size:50000}") long maxSize,
+                                @Value("${rides.idempotency.ttl-seconds:600}") long ttlSeconds) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public CompletableFuture<RideResponse> getOrCreate(String userId, String idempotencyKey,
+                                                       Supplier<CompletableFuture<RideResponse>> creation) {
+        Key key = new Key(userId, idempotencyKey);
+        CompletableFuture<RideResponse> result = new CompletableFuture<>();
+        CompletableFuture<RideResponse> existing = results.asMap().putIfAbsent(key, result);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            creation.get().whenComplete((ride, error) -> {
+                if (error != null) {
+                    results.asMap().remove(key, result);
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(ride);
+                }
+            });
+        } catch (RuntimeException e) {
+            results.asMap().remove(key, result);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
@@ -1,101 +1,500 @@
 package org.example.rideshare.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.example.rideshare.dto.CreateRideRequest;
+import org.example.rideshare.dto.DriverRideSummaryResponse;
+import org.example.rideshare.dto.RidePage;
 import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
 import org.example.rideshare.exception.BadRequestException;
-import org.example.rideshare.exception.NotFoundException;
+import org.example.rideshare.exception.ConflictException;
 import org.example.rideshare.model.Ride;
+import org.example.rideshare.repository.DailyStatusCount;
 import org.example.rideshare.repository.RideRepository;
+import org.example.rideshare.util.RideCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class RideService {
 
-    private static final String STATUS_REQUESTED = "REQUESTED";
-    private static final String STATUS_ACCEPTED = "ACCEPTED";
-    private static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_REQUESTED = "REQUESTED";
+    static final String STATUS_ACCEPTED = "ACCEPTED";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_CANCELLED = "CANCELLED";
+    static final String STATUS_EXPIRED = "EXPIRED";
+
+    // Riders may cancel until the ride is completed
+    static final List<String> CANCELLABLE_STATUSES = List.of(STATUS_REQUESTED, STATUS_ACCEPTED);
+
+    private static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    private static final int MAX_NEARBY_RESULTS = 50;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final Duration DEFAULT_SUMMARY_RANGE = Duration.ofDays(30);
+    private static final Duration MAX_SUMMARY_RANGE = Duration.ofDays(366);
+
+    // The keyset order of user history: createdAt, then id (ObjectId hex strings sort like the ids)
+    private static final Comparator<RideResponse> NEWEST_FIRST = Comparator
+            .comparing(RideResponse::getCreatedAt)
+            .thenComparing(RideResponse::getId)
+            .reversed();
 
     private final RideRepository rideRepository;
+    private final PendingRideIndex pendingRideIndex;
+    private final RideHistoryCache rideHistoryCache;
+    private final RideIdempotencyCache idempotencyCache;
+    private final RideArchivePolicy archivePolicy;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RideService(RideRepository rideRepository) {
+    // Meters are registered once here so the request path only records into existing instances
+    private final Timer createTimer;
+    private final Timer acceptTimer;
+    private final Timer completeTimer;
+    private final Timer cancelTimer;
+    private final Timer listUserTimer;
+    private final Timer listPendingTimer;
+    private final Timer listNearbyTimer;
+    private final Timer listDriverTimer;
+    private final Timer driverSummaryTimer;
+    private final Counter requestedTransitions;
+    private final Counter acceptedTransitions;
+    private final Counter completedTransitions;
+    private final Counter cancelledTransitions;
+    private final Counter expiredTransitions;
+    private final Counter acceptConflicts;
+    private final Counter completeConflicts;
+    private final Counter cancelConflicts;
+    private final Counter dispatchConflicts;
+
+    public RideService(RideRepository rideRepository, PendingRideIndex pendingRideIndex,
+                       RideHistoryCache rideHistoryCache, RideIdempotencyCache idempotencyCache,
+                       RideArchivePolicy archivePolicy, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry) {
         this.rideRepository = rideRepository;
+        this.pendingRideIndex = pendingRideIndex;
+        this.rideHistoryCache = rideHistoryCache;
+        this.idempotencyCache = idempotencyCache;
+        this.archivePolicy = archivePolicy;
+        this.eventPublisher = eventPublisher;
+
+        this.createTimer = operationTimer("create", meterRegistry);
+        this.acceptTimer = operationTimer("accept", meterRegistry);
+        this.completeTimer = operationTimer("complete", meterRegistry);
+        this.cancelTimer = operationTimer("cancel", meterRegistry);
+        this.listUserTimer = operationTimer("list-user", meterRegistry);
+        this.listPendingTimer = operationTimer("list-pending", meterRegistry);
+        this.listNearbyTimer = operationTimer("list-nearby", meterRegistry);
+        this.listDriverTimer = operationTimer("list-driver", meterRegistry);
+        this.driverSummaryTimer = operationTimer("driver-summary", meterRegistry);
+        this.requestedTransitions = transitionCounter(STATUS_REQUESTED, meterRegistry);
+        this.acceptedTransitions = transitionCounter(STATUS_ACCEPTED, meterRegistry);
+        this.completedTransitions = transitionCounter(STATUS_COMPLETED, meterRegistry);
+        this.cancelledTransitions = transitionCounter(STATUS_CANCELLED, meterRegistry);
+        this.expiredTransitions = transitionCounter(STATUS_EXPIRED, meterRegistry);
+        this.acceptConflicts = conflictCounter("accept", meterRegistry);
+        this.completeConflicts = conflictCounter("complete", meterRegistry);
+        this.cancelConflicts = conflictCounter("cancel", meterRegistry);
+        this.dispatchConflicts = conflictCounter("dispatch", meterRegistry);
     }
 
-    public RideResponse createRide(CreateRideRequest request, String userId) {
-        Ride newRide = initializeRide(request, userId);
-        Ride persistedRide = rideRepository.save(newRide);
-        return mapRideToResponse(persistedRide);
+    /**
+     * Creates a ride, or returns the ride already created for the same user and Idempotency-Key.
+     * Concurrent duplicates on this node wait for the first request; duplicates reaching other nodes
+     * lose the insert race on the unique index and read back the stored ride.
+     */
+    public RideResponse createRide(CreateRideRequest request, String userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createTimer.record(() -> insertRide(request, userId, null));
+        }
+        validateIdempotencyKey(idempotencyKey);
+        return createTimer.record(() -> await(idempotencyCache.getOrCreate(userId, idempotencyKey,
+                () -> CompletableFuture.completedFuture(insertRide(request, userId, idempotencyKey)))));
     }
 
-    public List<RideResponse> getUserRides(String userId) {
-        return rideRepository.findByUserId(userId)
-                .stream()
-                .map(this::mapRideToResponse)
-                .toList();
+    private RideResponse insertRide(CreateRideRequest request, String userId, String idempotencyKey) {
+        Ride newRide = initializeRide(request, userId, idempotencyKey);
+        Ride persistedRide;
+        try {
+            persistedRide = rideRepository.insert(newRide);
+        } catch (DuplicateKeyException e) {
+            return rideRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(RideService::mapRideToResponse)
+                    .orElseThrow(() -> e);
+        }
+        requestedTransitions.increment();
+        return publish(RideEventType.CREATED, mapRideToResponse(persistedRide));
     }
 
-    public List<RideResponse> getPendingRideRequests() {
-        return rideRepository.findByStatus(STATUS_REQUESTED)
-                .stream()
-                .map(this::mapRideToResponse)
-                .toList();
+    public RidePage getUserRides(String userId, String cursor, Integer limit) {
+        return listUserTimer.record(() -> findUserRides(userId, cursor, limit));
+    }
+
+    private RidePage findUserRides(String userId, String cursor, Integer limit) {
+        RideCursor after = decodeCursor(cursor);
+        int pageSize = resolvePageSize(limit);
+        if (after == null && pageSize < rideHistoryCache.getRidesPerUser()) {
+            List<RideResponse> recentRides = rideHistoryCache.getRecentRides(userId, key ->
+                    findUserRidePage(key, null, rideHistoryCache.getRidesPerUser()));
+            return toPage(recentRides.subList(0, Math.min(recentRides.size(), pageSize + 1)), pageSize);
+        }
+        return toPage(findUserRidePage(userId, after, pageSize + 1), pageSize);
+    }
+
+    // Live rides first; the archive is only read when the page may reach past the retention window
+    private List<RideResponse> findUserRidePage(String userId, RideCursor after, int limit) {
+        Date afterCreatedAt = after != null ? after.createdAt() : null;
+        String afterId = after != null ? after.id() : null;
+        List<RideResponse> liveRides = rideRepository.findResponsePageByUserId(userId, afterCreatedAt, afterId, limit);
+        if (!archivePolicy.mayIncludeArchivedRides(liveRides, limit)) {
+            return liveRides;
+        }
+        List<RideResponse> archivedRides =
+                rideRepository.findArchivedResponsePageByUserId(userId, afterCreatedAt, afterId, limit);
+        return mergeNewestFirst(liveRides, archivedRides, limit);
+    }
+
+    public RidePage getDriverRides(String driverId, String status, Instant createdFrom, Instant createdTo,
+                                   String cursor, Integer limit) {
+        validateTimeRange(createdFrom, createdTo);
+        return listDriverTimer.record(() -> findDriverRides(driverId, status, createdFrom, createdTo, cursor, limit));
+    }
+
+    private RidePage findDriverRides(String driverId, String status, Instant createdFrom, Instant createdTo,
+                                     String cursor, Integer limit) {
+        RideCursor after = decodeCursor(cursor);
+        int pageSize = resolvePageSize(limit);
+        Date from = toDate(createdFrom);
+        Date to = toDate(createdTo);
+        Date afterCreatedAt = after != null ? after.createdAt() : null;
+        String afterId = after != null ? after.id() : null;
+        List<RideResponse> liveRides = rideRepository.findResponsePageByDriverId(
+                driverId, status, from, to, afterCreatedAt, afterId, pageSize + 1);
+        if (!archivePolicy.mayIncludeArchivedRides(status, liveRides, pageSize + 1)) {
+            return toPage(liveRides, pageSize);
+        }
+        List<RideResponse> archivedRides = rideRepository.findArchivedResponsePageByDriverId(
+                driverId, status, from, to, afterCreatedAt, afterId, pageSize + 1);
+        return toPage(mergeNewestFirst(liveRides, archivedRides, pageSize + 1), pageSize);
+    }
+
+    /**
+     * Summarizes the driver's rides created in [createdFrom, createdTo), by default the last 30 days, from one
+     * aggregation over the live and archived rides.
+     */
+    public DriverRideSummaryResponse getDriverRideSummary(String driverId, Instant createdFrom, Instant createdTo) {
+        Instant to = createdTo != null ? createdTo : Instant.now();
+        Instant from = createdFrom != null ? createdFrom : defaultSummaryFrom(to);
+        validateSummaryRange(from, to);
+        return driverSummaryTimer.record(() -> summarizeDriverRides(from, to,
+                rideRepository.countDriverRidesByDayAndStatus(driverId, Date.from(from), Date.from(to))));
+    }
+
+    public RidePage getPendingRideRequests(String cursor, Integer limit) {
+        return listPendingTimer.record(() -> findPendingRideRequests(cursor, limit));
+    }
+
+    private RidePage findPendingRideRequests(String cursor, Integer limit) {
+        RideCursor after = decodeCursor(cursor);
+        int pageSize = resolvePageSize(limit);
+        if (pendingRideIndex.isReady()) {
+            return toPage(pendingRideIndex.page(after, pageSize + 1), pageSize);
+        }
+        List<RideResponse> rides = rideRepository.findResponsePageByStatus(
+                STATUS_REQUESTED, after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                pageSize + 1);
+        return toPage(rides, pageSize);
+    }
+
+    public List<RideResponse> getNearbyPendingRideRequests(double latitude, double longitude,
+                                                           double radiusMeters, int limit) {
+        validateCoordinates(latitude, longitude);
+        validateNearbySearchBounds(radiusMeters, limit);
+        return listNearbyTimer.record(() -> mapRidesToResponses(
+                rideRepository.findNearestByStatus(STATUS_REQUESTED, longitude, latitude, radiusMeters, limit)));
     }
 
     public RideResponse acceptRide(String rideId, String driverId) {
-        Ride ride = findRideById(rideId);
-        validateRideStatus(ride, STATUS_REQUESTED, "Ride is not in REQUESTED status");
-        
-        updateRideForAcceptance(ride, driverId);
-        Ride updatedRide = rideRepository.save(ride);
-        return mapRideToResponse(updatedRide);
+        return acceptTimer.record(() -> {
+            Ride acceptedRide = rideRepository
+                    .assignDriverIfStatus(rideId, STATUS_REQUESTED, STATUS_ACCEPTED, driverId)
+                    .orElseThrow(() -> conflict(acceptConflicts, "Ride not found or no longer in REQUESTED status"));
+            acceptedTransitions.increment();
+            return publish(RideEventType.ACCEPTED, mapRideToResponse(acceptedRide));
+        });
     }
 
     public RideResponse completeRide(String rideId) {
-        Ride ride = findRideById(rideId);
-        validateRideStatus(ride, STATUS_ACCEPTED, "Ride must be ACCEPTED before completion");
-        
-        ride.setStatus(STATUS_COMPLETED);
-        Ride updatedRide = rideRepository.save(ride);
-        return mapRideToResponse(updatedRide);
+        return completeTimer.record(() -> {
+            Ride completedRide = rideRepository
+                    .updateStatusIfCurrent(rideId, STATUS_ACCEPTED, STATUS_COMPLETED)
+                    .orElseThrow(() -> conflict(completeConflicts, "Ride not found or not in ACCEPTED status"));
+            completedTransitions.increment();
+            return publish(RideEventType.COMPLETED, mapRideToResponse(completedRide));
+        });
+    }
+
+    public RideResponse cancelRide(String rideId, String userId) {
+        return cancelTimer.record(() -> {
+            Ride cancelledRide = rideRepository
+                    .updateStatusForUserIfIn(rideId, userId, CANCELLABLE_STATUSES, STATUS_CANCELLED)
+                    .orElseThrow(() -> conflict(cancelConflicts, "Ride not found or no longer cancellable"));
+            cancelledTransitions.increment();
+            return publish(RideEventType.CANCELLED, mapRideToResponse(cancelledRide));
+        });
     }
 
-    private Ride initializeRide(CreateRideRequest request, String userId) {
+    /**
+     * Expires up to {@code limit} of the oldest REQUESTED rides created before {@code createdBefore} in one
+     * bulk update. Rides accepted or cancelled in the meantime are left alone. Returns how many rides were
+     * selected, so a result below {@code limit} means no older REQUESTED ride is left.
+     */
+    public int expireRequestedRides(Date createdBefore, int limit) {
+        List<String> rideIds = rideRepository.findIdsByStatusCreatedBefore(STATUS_REQUESTED, createdBefore, limit);
+        List<Ride> expiredRides = rideRepository.updateStatusesIfCurrent(rideIds, STATUS_REQUESTED, STATUS_EXPIRED);
+        expiredTransitions.increment(expiredRides.size());
+        expiredRides.forEach(ride -> publish(RideEventType.EXPIRED, mapRideToResponse(ride)));
+        return rideIds.size();
+    }
+
+    /**
+     * Accepts a batch of rides on behalf of the given drivers (ride id -> driver id) in one bulk write.
+     * Rides accepted by someone else in the meantime are skipped; the returned rides are the ones assigned.
+     */
+    public List<RideResponse> assignDrivers(Map<String, String> driverIdsByRideId) {
+        List<Ride> assignedRides = rideRepository.assignDriversIfStatus(
+                driverIdsByRideId, STATUS_REQUESTED, STATUS_ACCEPTED);
+        acceptedTransitions.increment(assignedRides.size());
+        dispatchConflicts.increment(driverIdsByRideId.size() - assignedRides.size());
+        return assignedRides.stream()
+                .map(ride -> publish(RideEventType.ACCEPTED, mapRideToResponse(ride)))
+                .toList();
+    }
+
+    static Ride initializeRide(CreateRideRequest request, String userId, String idempotencyKey) {
         Ride ride = new Ride();
         ride.setUserId(userId);
+        ride.setIdempotencyKey(idempotencyKey);
         ride.setPickupLocation(request.getPickupLocation());
         ride.setDropLocation(request.getDropLocation());
+        ride.setPickupCoordinates(toPoint(request.getPickupLatitude(), request.getPickupLongitude(), "Pickup"));
+        ride.setDropCoordinates(toPoint(request.getDropLatitude(), request.getDropLongitude(), "Drop"));
         ride.setStatus(STATUS_REQUESTED);
         ride.setCreatedAt(Date.from(Instant.now()));
         return ride;
     }
 
-    private Ride findRideById(String rideId) {
-        return rideRepository.findById(rideId)
-                .orElseThrow(() -> new NotFoundException("Ride not found"));
+    static void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
     }
 
-    private void validateRideStatus(Ride ride, String expectedStatus, String errorMessage) {
-        if (!expectedStatus.equals(ride.getStatus())) {
-            throw new BadRequestException(errorMessage);
+    private static RideResponse await(CompletableFuture<RideResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Ride creation failed", e.getCause());
         }
     }
 
-    private void updateRideForAcceptance(Ride ride, String driverId) {
-        ride.setDriverId(driverId);
-        ride.setStatus(STATUS_ACCEPTED);
+    static ConflictException conflict(Counter conflictCounter, String message) {
+        conflictCounter.increment();
+        return new ConflictException(message);
+    }
+
+    static Timer operationTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("rides.operation")
+                .description("Time spent in a ride service operation, including its database calls")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    static Counter transitionCounter(String status, MeterRegistry meterRegistry) {
+        return Counter.builder("rides.transitions")
+                .description("Rides that moved into a status")
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    static Counter conflictCounter(String operation, MeterRegistry meterRegistry) {
+        return Counter.builder("rides.conflicts")
+                .description("State transitions rejected because the ride was missing or already moved on")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private RideResponse publish(RideEventType type, RideResponse ride) {
+        eventPublisher.publishEvent(new RideEvent(type, ride));
+        return ride;
+    }
+
+    static void validateTimeRange(Instant createdFrom, Instant createdTo) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+    }
+
+    static Instant defaultSummaryFrom(Instant to) {
+        return to.minus(DEFAULT_SUMMARY_RANGE);
+    }
+
+    static void validateSummaryRange(Instant createdFrom, Instant createdTo) {
+        validateTimeRange(createdFrom, createdTo);
+        if (Duration.between(createdFrom, createdTo).compareTo(MAX_SUMMARY_RANGE) > 0) {
+            throw new BadRequestException("Summary range must not exceed " + MAX_SUMMARY_RANGE.toDays() + " days");
+        }
+    }
+
+    static Date toDate(Instant instant) {
+        return instant != null ? Date.from(instant) : null;
+    }
+
+    static DriverRideSummaryResponse summarizeDriverRides(Instant from, Instant to, List<DailyStatusCount> counts) {
+        Map<String, Long> statuses = new TreeMap<>();
+        Map<LocalDate, DriverRideSummaryResponse.Day> days = new TreeMap<>();
+        long rides = 0;
+        for (DailyStatusCount count : counts) {
+            rides += count.rides();
+            statuses.merge(count.status(), count.rides(), Long::sum);
+            DriverRideSummaryResponse.Day day = days.computeIfAbsent(count.day(),
+                    date -> new DriverRideSummaryResponse.Day(date, 0, 0, 0));
+            day.setRides(day.getRides() + count.rides());
+            if (STATUS_COMPLETED.equals(count.status())) {
+                day.setCompleted(day.getCompleted() + count.rides());
+            } else if (STATUS_CANCELLED.equals(count.status())) {
+                day.setCancelled(day.getCancelled() + count.rides());
+            }
+        }
+        long completed = statuses.getOrDefault(STATUS_COMPLETED, 0L);
+        long finished = completed + statuses.getOrDefault(STATUS_CANCELLED, 0L);
+        Double completionRatio = finished > 0 ? (double) completed / finished : null;
+        return new DriverRideSummaryResponse(from, to, rides, statuses, completionRatio,
+                new ArrayList<>(days.values()));
+    }
+
+    static RideCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : RideCursor.decode(cursor);
+    }
+
+    static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Merges two newest-first pages read after the same cursor into the newest {@code limit} rides.
+     * A ride caught between its archive copy and its delete is in both pages and is kept once.
+     */
+    static List<RideResponse> mergeNewestFirst(List<RideResponse> liveRides, List<RideResponse> archivedRides,
+                                               int limit) {
+        if (archivedRides.isEmpty()) {
+            return liveRides;
+        }
+        List<RideResponse> merged = new ArrayList<>(Math.min(limit, liveRides.size() + archivedRides.size()));
+        int live = 0;
+        int archived = 0;
+        while (merged.size() < limit && (live < liveRides.size() || archived < archivedRides.size())) {
+            if (archived == archivedRides.size()) {
+                merged.add(liveRides.get(live++));
+            } else if (live == liveRides.size()) {
+                merged.add(archivedRides.get(archived++));
+            } else {
+                int order = NEWEST_FIRST.compare(liveRides.get(live), archivedRides.get(archived));
+                if (order == 0) {
+                    archived++;
+                }
+                merged.add(order <= 0 ? liveRides.get(live++) : archivedRides.get(archived++));
+            }
+        }
+        return merged;
+    }
+
+    // Callers fetch one extra row; its presence tells us another page exists
+    static RidePage toPage(List<RideResponse> rides, int pageSize) {
+        if (rides.size() <= pageSize) {
+            return new RidePage(rides, null);
+        }
+        List<RideResponse> pageRides = rides.subList(0, pageSize);
+        RideResponse last = pageRides.get(pageSize - 1);
+        String nextCursor = new RideCursor(last.getCreatedAt(), last.getId()).encode();
+        return new RidePage(pageRides, nextCursor);
+    }
+
+    private static List<RideResponse> mapRidesToResponses(List<Ride> rides) {
+        return rides.stream()
+                .map(RideService::mapRideToResponse)
+                .toList();
+    }
+
+    private static GeoJsonPoint toPoint(Double latitude, Double longitude, String label) {
+        if (latitude == null && longitude == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null) {
+            throw new BadRequestException(label + " latitude and longitude must be provided together");
+        }
+        return new GeoJsonPoint(longitude, latitude);
+    }
+
+    static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    static void validateNearbySearchBounds(double radiusMeters, int limit) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS) {
+            throw new BadRequestException("Radius must be between 1 and " + (int) MAX_NEARBY_RADIUS_METERS + " meters");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
     }
 
-    private RideResponse mapRideToResponse(Ride ride) {
+    static RideResponse mapRideToResponse(Ride ride) {
+        GeoJsonPoint pickup = ride.getPickupCoordinates();
+        GeoJsonPoint drop = ride.getDropCoordinates();
         return new RideResponse(
                 ride.getId(),
                 ride.getUserId(),
                 ride.getDriverId(),
                 ride.getPickupLocation(),
                 ride.getDropLocation(),
+                pickup != null ? pickup.getY() : null,
+                pickup != null ? pickup.getX() : null,
+                drop != null ? drop.getY() : null,
+                drop != null ? drop.getX() : null,
                 ride.getStatus(),
                 ride.getCreatedAt()
         );
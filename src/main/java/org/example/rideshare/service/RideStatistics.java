@@ -0,0 +1,318 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideStatsResponse;
+import org.example.rideshare.dto.RideStatsWindow;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.model.RideStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ride transitions per status and accept latency, served from memory so the admin stats endpoint needs no count
+ * or aggregation query. This instance's ride events are counted locally: all-time totals are {@link LongAdder}s;
+ * the rolling window is a ring of window-hours hourly buckets, each reused once its hour falls out of the window.
+ * Recording never blocks except for the first event of each hour, which clears the bucket it takes over.
+ * <p>
+ * {@link RideStatsSync} periodically adds what was counted here since its previous run to the shared ride_stats
+ * document and hands back the updated document, which holds the counts of every instance. Snapshots serve that
+ * document plus what this instance counted since, so they cover the cluster, with other instances' counts up to
+ * one sync interval old.
+ */
+@Component
+public class RideStatistics {
+
+    private static final RideEventType[] EVENT_TYPES = RideEventType.values();
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final Clock clock;
+    private final Instant startedAt;
+    private final LongAdder[] transitions = newAdders();
+    private final HourBucket[] buckets;
+    private volatile Synced synced;
+
+    public RideStatistics(Clock clock, @Value("${rides.stats.window-hours:24}") int windowHours) {
+        this.clock = clock;
+        this.buckets = new HourBucket[windowHours];
+        for (int i = 0; i < windowHours; i++) {
+            buckets[i] = new HourBucket();
+        }
+        this.startedAt = clock.instant();
+        this.synced = new Synced(startedAt, new long[EVENT_TYPES.length], Map.of(),
+                new long[EVENT_TYPES.length], Map.of(), List.of());
+    }
+
+    @EventListener
+    public void onRideEvent(RideEvent event) {
+        long nowMillis = clock.millis();
+        int type = event.type().ordinal();
+        transitions[type].increment();
+        HourBucket bucket = bucketFor(nowMillis / HOUR_MILLIS);
+        if (bucket == null) {
+            return;
+        }
+        bucket.transitions[type].increment();
+        Date createdAt = event.ride().getCreatedAt();
+        if (event.type() == RideEventType.ACCEPTED && createdAt != null) {
+            bucket.recordAcceptLatency(Math.max(0, nowMillis - createdAt.getTime()));
+        }
+    }
+
+    public RideStatsResponse snapshot() {
+        Synced last = synced;
+        long currentHour = clock.millis() / HOUR_MILLIS;
+        long[] totals = plus(last.sharedTransitions(), minus(sums(transitions), last.localTransitions()));
+        HourCounts windowCounts = HourCounts.ZERO;
+        List<RideStatsWindow> hourly = new ArrayList<>(buckets.length);
+        for (long hour = currentHour - buckets.length + 1; hour <= currentHour; hour++) {
+            HourBucket bucket = buckets[slot(hour)];
+            HourCounts local = bucket.hour == hour ? bucket.counts() : HourCounts.ZERO;
+            HourCounts counts = last.sharedHours().getOrDefault(hour, HourCounts.ZERO)
+                    .plus(local.minus(last.localHours().getOrDefault(hour, HourCounts.ZERO)));
+            windowCounts = windowCounts.plus(counts);
+            hourly.add(window(hour, hour + 1, counts));
+        }
+        return new RideStatsResponse(last.countingSince(), byStatus(totals),
+                window(currentHour - buckets.length + 1, currentHour + 1, windowCounts), hourly);
+    }
+
+    /**
+     * What this instance counted since the last {@link #synced} call, as counts to add to the shared document,
+     * and the shared hours that have left the window since.
+     */
+    Flush flush() {
+        Synced last = synced;
+        long currentHour = clock.millis() / HOUR_MILLIS;
+        long[] localTransitions = sums(transitions);
+        Map<Long, HourCounts> localHours = new HashMap<>();
+        Map<String, RideStats.Hour> addedHours = new LinkedHashMap<>();
+        for (long hour = currentHour - buckets.length + 1; hour <= currentHour; hour++) {
+            HourBucket bucket = buckets[slot(hour)];
+            if (bucket.hour != hour) {
+                continue;
+            }
+            HourCounts local = bucket.counts();
+            localHours.put(hour, local);
+            HourCounts added = local.minus(last.localHours().getOrDefault(hour, HourCounts.ZERO));
+            if (!added.isEmpty()) {
+                addedHours.put(hourKey(hour), new RideStats.Hour(byStatus(added.transitions()),
+                        added.acceptLatencyTotalMillis(), added.acceptLatencyCount(),
+                        added.acceptLatencyMaxMillis()));
+            }
+        }
+        RideStats counts = new RideStats(null, Date.from(startedAt), new Date(clock.millis()),
+                byStatus(minus(localTransitions, last.localTransitions())), addedHours);
+        return new Flush(counts, last.staleHours(), localTransitions, localHours);
+    }
+
+    /**
+     * Records that {@code flush} has been added to the shared document and {@code shared} is the document as
+     * updated. Snapshots serve it from now on, plus what is counted after the flush.
+     */
+    void synced(Flush flush, RideStats shared) {
+        long oldestHour = clock.millis() / HOUR_MILLIS - buckets.length + 1;
+        Map<Long, HourCounts> sharedHours = new HashMap<>();
+        List<String> staleHours = new ArrayList<>();
+        if (shared.getHours() != null) {
+            shared.getHours().forEach((start, saved) -> {
+                long hour = Instant.parse(start).toEpochMilli() / HOUR_MILLIS;
+                if (hour < oldestHour) {
+                    staleHours.add(start);
+                } else {
+                    sharedHours.put(hour, new HourCounts(counts(saved.getTransitions()),
+                            saved.getAcceptLatencyTotalMillis(), saved.getAcceptLatencyCount(),
+                            saved.getAcceptLatencyMaxMillis()));
+                }
+            });
+        }
+        Instant countingSince = shared.getCountingSince() != null
+                ? shared.getCountingSince().toInstant()
+                : startedAt;
+        synced = new Synced(countingSince, counts(shared.getTransitions()), sharedHours,
+                flush.localTransitions(), flush.localHours(), staleHours);
+    }
+
+    /**
+     * Counts to add to the shared document, the hours to remove from it, and this instance's own counts at the
+     * time, which the next flush is measured from.
+     */
+    record Flush(RideStats counts, List<String> staleHours, long[] localTransitions,
+                 Map<Long, HourCounts> localHours) {
+
+        boolean isEmpty() {
+            return counts.getHours().isEmpty() && staleHours.isEmpty()
+                    && counts.getTransitions().values().stream().allMatch(count -> count == 0);
+        }
+    }
+
+    // The shared document as last read back, and this instance's counts that it includes
+    private record Synced(Instant countingSince, long[] sharedTransitions, Map<Long, HourCounts> sharedHours,
+                          long[] localTransitions, Map<Long, HourCounts> localHours, List<String> staleHours) {
+    }
+
+    // Null when the slot already holds a later hour, i.e. the event belongs to an hour outside the window
+    private HourBucket bucketFor(long hour) {
+        HourBucket bucket = buckets[slot(hour)];
+        if (bucket.hour != hour) {
+            synchronized (bucket) {
+                if (bucket.hour > hour) {
+                    return null;
+                }
+                if (bucket.hour < hour) {
+                    bucket.reset(hour);
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) buckets.length);
+    }
+
+    private static String hourKey(long hour) {
+        return Instant.ofEpochMilli(hour * HOUR_MILLIS).toString();
+    }
+
+    private static RideStatsWindow window(long fromHour, long toHour, HourCounts counts) {
+        long latencyCount = counts.acceptLatencyCount();
+        return new RideStatsWindow(
+                Instant.ofEpochMilli(fromHour * HOUR_MILLIS),
+                Instant.ofEpochMilli(toHour * HOUR_MILLIS),
+                byStatus(counts.transitions()),
+                latencyCount > 0 ? counts.acceptLatencyTotalMillis() / latencyCount : null,
+                latencyCount > 0 ? counts.acceptLatencyMaxMillis() : null);
+    }
+
+    private static Map<String, Long> byStatus(long[] counts) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (RideEventType type : EVENT_TYPES) {
+            byStatus.put(statusOf(type), counts[type.ordinal()]);
+        }
+        return byStatus;
+    }
+
+    private static long[] counts(Map<String, Long> byStatus) {
+        long[] counts = new long[EVENT_TYPES.length];
+        if (byStatus != null) {
+            for (RideEventType type : EVENT_TYPES) {
+                Long count = byStatus.get(statusOf(type));
+                counts[type.ordinal()] = count != null ? count : 0;
+            }
+        }
+        return counts;
+    }
+
+    private static String statusOf(RideEventType type) {
+        return switch (type) {
+            case CREATED -> RideService.STATUS_REQUESTED;
+            case ACCEPTED -> RideService.STATUS_ACCEPTED;
+            case COMPLETED -> RideService.STATUS_COMPLETED;
+            case CANCELLED -> RideService.STATUS_CANCELLED;
+            case EXPIRED -> RideService.STATUS_EXPIRED;
+        };
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+
+    private static long[] plus(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+    private static long[] minus(long[] a, long[] b) {
+        long[] difference = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            difference[i] = a[i] - b[i];
+        }
+        return difference;
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[EVENT_TYPES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class HourBucket {
+        // Written last on reset, so a reader that sees the new hour also sees the cleared counters
+        volatile long hour = Long.MIN_VALUE;
+        final LongAdder[] transitions = newAdders();
+        final LongAdder acceptLatencyTotalMillis = new LongAdder();
+        final LongAdder acceptLatencyCount = new LongAdder();
+        final LongAccumulator acceptLatencyMaxMillis = new LongAccumulator(Math::max, 0);
+
+        HourCounts counts() {
+            return new HourCounts(sums(transitions), acceptLatencyTotalMillis.sum(), acceptLatencyCount.sum(),
+                    acceptLatencyMaxMillis.get());
+        }
+
+        void recordAcceptLatency(long latencyMillis) {
+            acceptLatencyTotalMillis.add(latencyMillis);
+            acceptLatencyCount.increment();
+            acceptLatencyMaxMillis.accumulate(latencyMillis);
+        }
+
+        void reset(long newHour) {
+            for (LongAdder adder : transitions) {
+                adder.reset();
+            }
+            acceptLatencyTotalMillis.reset();
+            acceptLatencyCount.reset();
+            acceptLatencyMaxMillis.reset();
+            hour = newHour;
+        }
+    }
+
+    /**
+     * One hour's counts. Subtracting an earlier reading of the same hour keeps the maximum, which only grows.
+     */
+    record HourCounts(long[] transitions, long acceptLatencyTotalMillis, long acceptLatencyCount,
+                      long acceptLatencyMaxMillis) {
+
+        static final HourCounts ZERO = new HourCounts(new long[EVENT_TYPES.length], 0, 0, 0);
+
+        HourCounts plus(HourCounts other) {
+            return new HourCounts(RideStatistics.plus(transitions, other.transitions),
+                    acceptLatencyTotalMillis + other.acceptLatencyTotalMillis,
+                    acceptLatencyCount + other.acceptLatencyCount,
+                    Math.max(acceptLatencyMaxMillis, other.acceptLatencyMaxMillis));
+        }
+
+        HourCounts minus(HourCounts earlier) {
+            return new HourCounts(RideStatistics.minus(transitions, earlier.transitions),
+                    acceptLatencyTotalMillis - earlier.acceptLatencyTotalMillis,
+                    acceptLatencyCount - earlier.acceptLatencyCount,
+                    acceptLatencyMaxMillis);
+        }
+
+        boolean isEmpty() {
+            return acceptLatencyCount == 0 && Arrays.stream(transitions).allMatch(count -> count == 0);
+        }
+    }
+}
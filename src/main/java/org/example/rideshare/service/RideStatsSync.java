@@ -0,0 +1,60 @@
+package org.example.rideshare.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.rideshare.repository.RideStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes {@link RideStatistics} cluster-wide. At startup, every sync-interval-ms and on shutdown, adds what this
+ * instance counted since its previous sync to the shared ride_stats document in one atomic update, and hands the
+ * updated document back to {@link RideStatistics}. A failed sync leaves the counts for the next one. A sync whose
+ * update was applied but whose reply was lost is added again by the next one.
+ */
+@Component
+@ConditionalOnProperty(name = "rides.stats.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class RideStatsSync {
+
+    private static final Logger log = LoggerFactory.getLogger(RideStatsSync.class);
+
+    // Every instance adds to the same document, so no per-instance document is left behind on redeploys
+    static final String CLUSTER_STATS_ID = "cluster";
+
+    private final RideStatistics rideStatistics;
+    private final RideStatsRepository rideStatsRepository;
+
+    public RideStatsSync(RideStatistics rideStatistics, RideStatsRepository rideStatsRepository) {
+        this.rideStatistics = rideStatistics;
+        this.rideStatsRepository = rideStatsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncAtStartup() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${rides.stats.sync.interval-ms:15000}",
+            initialDelayString = "${rides.stats.sync.interval-ms:15000}")
+    public synchronized void sync() {
+        try {
+            RideStatistics.Flush flush = rideStatistics.flush();
+            rideStatistics.synced(flush,
+                    rideStatsRepository.addCounts(CLUSTER_STATS_ID, flush.counts(), flush.staleHours()));
+        } catch (RuntimeException e) {
+            log.warn("Ride stats sync failed: {}", e.getMessage());
+        }
+    }
+
+    // Skipped when nothing was counted since the last sync, so shutdown does not wait out an unreachable MongoDB
+    @PreDestroy
+    public void syncOnShutdown() {
+        if (!rideStatistics.flush().isEmpty()) {
+            sync();
+        }
+    }
+}
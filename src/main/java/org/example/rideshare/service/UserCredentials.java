@@ -0,0 +1,13 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.model.User;
+
+/**
+ * What login needs from a user document, as held by {@link UserCredentialsCache}.
+ */
+public record UserCredentials(String id, String username, String passwordHash, String role) {
+
+    static UserCredentials from(User user) {
+        return new UserCredentials(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.rideshare.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded username to credentials cache in front of the user collection. Unknown usernames are cached
+ * as empty for a shorter time, so repeated attempts against missing accounts do not reach the database.
+ * Concurrent lookups of the same username share one database call.
+ */
+@Component
+public class UserCredentialsCache {
+
+    private final AsyncCache<String, Optional<UserCredentials>> cache;
+
+    @Autowired
+    public UserCredentialsCache(MeterRegistry meterRegistry,
+                                @Value("${security.credentials-cache.max-size:10000}") long maxSize,
+                                @Value("${security.credentials-cache.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${security.credentials-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this(Ticker.systemTicker(), meterRegistry, maxSize, ttlSeconds, negativeTtlSeconds);
+    }
+
+    // Expiry runs on a monotonic ticker, not the wall clock, so a clock step cannot stretch a TTL; tests pass a fake
+    UserCredentialsCache(Ticker ticker, MeterRegistry meterRegistry, long maxSize, long ttlSeconds,
+                         long negativeTtlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.writing((String username, Optional<UserCredentials> credentials) ->
+                        credentials.isPresent() ? ttl : negativeTtl))
+                .ticker(ticker)
+                // Loads run on the caller's thread; the reactive loader itself never blocks
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.credentials");
+    }
+
+    public Optional<UserCredentials> get(String username, Function<String, Optional<UserCredentials>> loader) {
+        return cache.synchronous().get(username, loader);
+    }
+
+    public Mono<Optional<UserCredentials>> getAsync(String username,
+                                                    Function<String, Mono<Optional<UserCredentials>>> loader) {
+        return Mono.fromFuture(() -> cache.get(username, (key, executor) -> loader.apply(key).toFuture()));
+    }
+
+    /**
+     * Drops the cached entry, positive or negative. Call after creating a user or changing a password.
+     */
+    public void invalidate(String username) {
+        cache.synchronous().invalidate(username);
+    }
+}
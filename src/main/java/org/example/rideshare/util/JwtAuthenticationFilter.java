@@ -1,9 +1,12 @@
 package org.example.rideshare.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,17 +17,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtUtil jwtUtil;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTimer = verificationTimer("verified", meterRegistry);
+        this.rejectedTimer = verificationTimer("rejected", meterRegistry);
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.jwt.verification")
+                .description("Time spent verifying a bearer token, including claims cache hits")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -32,26 +48,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-        TokenInfo tokenInfo = extractTokenInfo(authHeader);
+        JwtClaims tokenClaims = extractTokenClaims(authHeader);
 
-        if (tokenInfo != null && shouldAuthenticate()) {
-            authenticateRequest(request, tokenInfo);
+        if (tokenClaims != null && shouldAuthenticate()) {
+            authenticateRequest(request, tokenClaims);
         }
 
         chain.doFilter(request, response);
     }
 
-    private TokenInfo extractTokenInfo(String authorizationHeader) {
+    private JwtClaims extractTokenClaims(String authorizationHeader) {
         if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
             return null;
         }
 
         String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
+        long startNanos = System.nanoTime();
         try {
-            String username = jwtUtil.extractUsername(jwtToken);
-            String role = jwtUtil.extractRole(jwtToken);
-            return new TokenInfo(jwtToken, username, role);
+            JwtClaims claims = jwtUtil.parseToken(jwtToken);
+            verifiedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return claims;
         } catch (Exception e) {
+            rejectedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
             return null;
         }
     }
@@ -60,10 +78,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return SecurityContextHolder.getContext().getAuthentication() == null;
     }
 
-    private void authenticateRequest(HttpServletRequest request, TokenInfo tokenInfo) {
-        if (jwtUtil.validateToken(tokenInfo.token, tokenInfo.username)) {
+    private void authenticateRequest(HttpServletRequest request, JwtClaims tokenClaims) {
+        if (tokenClaims.username() != null && !tokenClaims.isExpired()) {
             UsernamePasswordAuthenticationToken authToken = createAuthenticationToken(
-                    tokenInfo.username, tokenInfo.role, request);
+                    tokenClaims.username(), tokenClaims.role(), request);
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
     }
@@ -77,17 +95,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         return authToken;
     }
-
-    private static class TokenInfo {
-        final String token;
-        final String username;
-        final String role;
-
-        TokenInfo(String token, String username, String role) {
-            this.token = token;
-            this.username = username;
-            this.role = role;
-        }
-    }
 }
-
@@ -0,0 +1,13 @@
+package org.example.rideshare.util;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has already been verified by {@link JwtUtil}.
+ */
+public record JwtClaims(String username, String role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -1,6 +1,10 @@
 package org.example.rideshare.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -19,14 +24,25 @@ public class JwtUtil {
 
     private static final String ROLE_CLAIM_KEY = "role";
 
-    @Value("${jwt.secret}")
-    private String jwtSecretKey;
-
-    @Value("${jwt.expiration}")
-    private Long tokenExpirationMillis;
-
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+    private final Long tokenExpirationMillis;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+
+    // Verified claims keyed by the raw token; each entry lives until the token itself expires.
+    private final Cache<String, JwtClaims> verifiedClaimsCache;
+
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecretKey,
+                   @Value("${jwt.expiration}") Long tokenExpirationMillis,
+                   @Value("${jwt.cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.tokenExpirationMillis = tokenExpirationMillis;
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedClaimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(Expiry.creating((String token, JwtClaims claims) -> timeUntilExpiry(claims)))
+                .build();
     }
 
     public String generateToken(String username, String role) {
@@ -50,20 +66,29 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(issuedAt)
                 .setExpiration(expirationTime)
-                .signWith(getSecretKey(), SignatureAlgorithm.HS256)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiry once and returns its claims. Repeat calls with the
+     * same token are served from the cache until the token expires.
+     */
+    public JwtClaims parseToken(String token) {
+        return verifiedClaimsCache.get(token, this::verifyToken);
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).username();
     }
 
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get(ROLE_CLAIM_KEY, String.class));
+        return parseToken(token).role();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        Instant expiresAt = parseToken(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -71,25 +96,32 @@ public class JwtUtil {
         return claimsResolver.apply(allClaims);
     }
 
+    private JwtClaims verifyToken(String token) {
+        Claims claims = parseTokenClaims(token);
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get(ROLE_CLAIM_KEY, String.class),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+
     private Claims parseTokenClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    private boolean checkTokenExpiration(String token) {
-        Date expirationDate = extractExpiration(token);
-        Date currentDate = Date.from(Instant.now());
-        return expirationDate.before(currentDate);
+    private static Duration timeUntilExpiry(JwtClaims claims) {
+        if (claims.expiresAt() == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
     }
 
     public Boolean validateToken(String token, String username) {
-        String tokenUsername = extractUsername(token);
-        boolean isUsernameValid = tokenUsername.equals(username);
-        boolean isNotExpired = !checkTokenExpiration(token);
+        JwtClaims claims = parseToken(token);
+        boolean isUsernameValid = claims.username().equals(username);
+        boolean isNotExpired = !claims.isExpired();
         return isUsernameValid && isNotExpired;
     }
 }
-
@@ -0,0 +1,46 @@
+package org.example.rideshare.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.rideshare.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+
+/**
+ * Applies {@link RateLimiter} after {@link JwtAuthenticationFilter} has identified the caller. Registered
+ * inside the security filter chain only, so it is deliberately not a bean.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JsonMapper jsonMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, JsonMapper jsonMapper) {
+        this.rateLimiter = rateLimiter;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(request.getMethod(), request.getRequestURI(),
+                SecurityContextHolder.getContext().getAuthentication(), request.getRemoteAddr());
+        if (decision.permitted()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                RateLimiter.TOO_MANY_REQUESTS_CODE, RateLimiter.TOO_MANY_REQUESTS_MESSAGE));
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.rideshare.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rideshare.config.RateLimitProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limits per rule and caller, shared by the servlet and reactive filters.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate form of a token bucket), so acquiring a token is one compare-and-set with no
+ * lock. Buckets live in a size-bounded Caffeine map and are dropped once idle.
+ */
+public class RateLimiter {
+
+    public record Decision(boolean permitted, long retryAfterSeconds) {
+    }
+
+    static final String TOO_MANY_REQUESTS_CODE = "TOO_MANY_REQUESTS";
+    static final String TOO_MANY_REQUESTS_MESSAGE = "Rate limit exceeded; retry after the Retry-After delay";
+
+    private static final Decision PERMITTED = new Decision(true, 0);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private record BucketKey(int rule, String caller) {
+    }
+
+    private record Rule(String name, PathPattern path, String method, String role,
+                        long emissionIntervalNanos, long burstToleranceNanos, Counter rejections) {
+
+        boolean matches(String requestMethod, PathContainer requestPath, Authentication caller) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                    && path.matches(requestPath)
+                    && (role == null || hasAuthority(caller, role));
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.rules = properties.enabled()
+                ? properties.rules().stream().map(rule -> compile(rule, meterRegistry)).toList()
+                : List.of();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+        this.nanoClock = nanoClock;
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the caller's bucket for the first rule matching the request. Authenticated
+     * callers are identified by username, everyone else by {@code clientAddress}.
+     */
+    public Decision tryAcquire(String method, String path, Authentication authentication, String clientAddress) {
+        if (rules.isEmpty()) {
+            return PERMITTED;
+        }
+        Authentication caller = isAuthenticated(authentication) ? authentication : null;
+        PathContainer requestPath = PathContainer.parsePath(path);
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            if (rule.matches(method, requestPath, caller)) {
+                return acquire(i, rule, caller != null ? "user:" + caller.getName() : "ip:" + clientAddress);
+            }
+        }
+        return PERMITTED;
+    }
+
+    private Decision acquire(int ruleIndex, Rule rule, String caller) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.get(new BucketKey(ruleIndex, caller), key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long waitNanos = start - rule.burstToleranceNanos() - now;
+            if (waitNanos > 0) {
+                rule.rejections().increment();
+                return new Decision(false, Math.max(1, ceilDiv(waitNanos, NANOS_PER_SECOND)));
+            }
+            if (fullAt.compareAndSet(current, start + rule.emissionIntervalNanos())) {
+                return PERMITTED;
+            }
+        }
+    }
+
+    private static Rule compile(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+        if (rule.name() == null || rule.path() == null) {
+            throw new IllegalArgumentException("Rate limit rules need a name and a path");
+        }
+        if (rule.capacity() < 1 || rule.refillPerSecond() <= 0) {
+            throw new IllegalArgumentException(
+                    "Rate limit rule " + rule.name() + " needs a capacity >= 1 and a positive refill-per-second");
+        }
+        long emissionIntervalNanos = Math.max(1, Math.round(NANOS_PER_SECOND / rule.refillPerSecond()));
+        Counter rejections = Counter.builder("rate.limit.rejections")
+                .description("Requests rejected with 429 by a rate limit rule")
+                .tag("rule", rule.name())
+                .register(meterRegistry);
+        return new Rule(rule.name(), PathPatternParser.defaultInstance.parse(rule.path()), rule.method(),
+                rule.role(), emissionIntervalNanos, (rule.capacity() - 1) * emissionIntervalNanos, rejections);
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    private static boolean hasAuthority(Authentication caller, String role) {
+        if (caller == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : caller.getAuthorities()) {
+            if (role.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
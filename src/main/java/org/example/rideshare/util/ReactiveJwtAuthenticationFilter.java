@@ -0,0 +1,59 @@
+package org.example.rideshare.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WebFlux counterpart of {@link JwtAuthenticationFilter}. Registered inside the security filter
+ * chain only, so it is deliberately not a bean.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        JwtClaims tokenClaims = extractTokenClaims(authHeader);
+
+        if (tokenClaims == null || tokenClaims.username() == null || tokenClaims.isExpired()) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(createAuthenticationToken(tokenClaims)));
+    }
+
+    private JwtClaims extractTokenClaims(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+
+        String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
+        try {
+            return jwtUtil.parseToken(jwtToken);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken createAuthenticationToken(JwtClaims tokenClaims) {
+        List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority(tokenClaims.role()));
+        return new UsernamePasswordAuthenticationToken(tokenClaims.username(), null, authorities);
+    }
+}
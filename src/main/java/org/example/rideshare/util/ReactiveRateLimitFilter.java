@@ -0,0 +1,68 @@
+package org.example.rideshare.util;
+
+import org.example.rideshare.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * WebFlux counterpart of {@link RateLimitFilter}, registered after {@link ReactiveJwtAuthenticationFilter}
+ * inside the security filter chain only.
+ */
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JsonMapper jsonMapper;
+
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter, JsonMapper jsonMapper) {
+        this.rateLimiter = rateLimiter;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> {
+                    ServerHttpRequest request = exchange.getRequest();
+                    RateLimiter.Decision decision = rateLimiter.tryAcquire(request.getMethod().name(),
+                            request.getPath().pathWithinApplication().value(), authentication.orElse(null),
+                            clientAddress(request));
+                    return decision.permitted() ? chain.filter(exchange) : reject(exchange.getResponse(), decision);
+                });
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, RateLimiter.Decision decision) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = jsonMapper.writeValueAsBytes(new ErrorResponse(
+                RateLimiter.TOO_MANY_REQUESTS_CODE, RateLimiter.TOO_MANY_REQUESTS_MESSAGE));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+}
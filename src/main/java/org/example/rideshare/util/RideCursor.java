@@ -0,0 +1,35 @@
+package org.example.rideshare.util;
+
+import org.example.rideshare.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last ride on a page, ordered by (createdAt, id). Clients only ever see the
+ * opaque {@link #encode() encoded} form.
+ */
+public record RideCursor(Date createdAt, String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = createdAt.getTime() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RideCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            long createdAtMillis = Long.parseLong(raw.substring(0, separatorIndex));
+            return new RideCursor(new Date(createdAtMillis), raw.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
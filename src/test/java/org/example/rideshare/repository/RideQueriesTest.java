@@ -0,0 +1,120 @@
+package org.example.rideshare.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.rideshare.model.Ride;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The ride state changes are only atomic because the expected state is part of the server-side match and the
+ * whole change is one update, so these tests check the documents actually sent to MongoDB.
+ */
+class RideQueriesTest {
+
+    private static final String RIDE_ID = "65a4f0c2e4b0a1b2c3d4e5f6";
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MappingMongoConverter converter =
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    private final MongoPersistentEntity<?> rideEntity = mappingContext.getRequiredPersistentEntity(Ride.class);
+
+    @Test
+    void acceptMatchesOnIdAndTheExpectedStatus() {
+        Document filter = mappedQuery(RideQueries.byIdAndStatus(RIDE_ID, "REQUESTED"));
+
+        assertThat(filter).containsOnlyKeys("_id", "status");
+        assertThat(filter).containsEntry("_id", new ObjectId(RIDE_ID)).containsEntry("status", "REQUESTED");
+    }
+
+    @Test
+    void acceptSetsStatusAndDriverInOneUpdate() {
+        Document update = mappedUpdate(RideQueries.assignDriver("ACCEPTED", "driver-1"));
+
+        assertThat(update).containsOnlyKeys("$set");
+        assertThat(update.get("$set", Document.class))
+                .containsOnlyKeys("status", "driverId")
+                .containsEntry("status", "ACCEPTED")
+                .containsEntry("driverId", "driver-1");
+    }
+
+    @Test
+    void cancelMatchesTheOwnerAndOnlyCancellableStatuses() {
+        Document filter = mappedQuery(RideQueries.byIdUserAndStatusIn(RIDE_ID, "rider", List.of("REQUESTED",
+                "ACCEPTED")));
+
+        assertThat(filter).containsOnlyKeys("_id", "userId", "status");
+        assertThat(filter).containsEntry("userId", "rider")
+                .containsEntry("status", new Document("$in", List.of("REQUESTED", "ACCEPTED")));
+    }
+
+    @Test
+    void assignDriverIfStatusSendsTheConditionalUpdateAsOneFindAndModify() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+
+        new RideRepositoryImpl(mongoTemplate).assignDriverIfStatus(RIDE_ID, "REQUESTED", "ACCEPTED", "driver-1");
+
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Ride.class));
+        assertThat(mappedQuery(query.getValue()))
+                .containsEntry("_id", new ObjectId(RIDE_ID)).containsEntry("status", "REQUESTED");
+        assertThat(mappedUpdate(update.getValue()).get("$set", Document.class))
+                .containsEntry("status", "ACCEPTED").containsEntry("driverId", "driver-1");
+        assertThat(options.getValue().isReturnNew()).isTrue();
+    }
+
+    @Test
+    void bulkAssignReadsBackOnlyTheRidesItsOwnWriteTagged() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ride.class)).thenReturn(bulkOperations);
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<Query> readBack = ArgumentCaptor.forClass(Query.class);
+
+        new RideRepositoryImpl(mongoTemplate).assignDriversIfStatus(Map.of(RIDE_ID, "driver-1"), "REQUESTED",
+                "ACCEPTED");
+
+        verify(bulkOperations).updateOne(filter.capture(), update.capture());
+        verify(mongoTemplate).find(readBack.capture(), eq(Ride.class));
+        assertThat(mappedQuery(filter.getValue())).containsOnlyKeys("_id", "status");
+        Document set = mappedUpdate(update.getValue()).get("$set", Document.class);
+        assertThat(set).containsOnlyKeys("status", "driverId", "statusUpdateId")
+                .containsEntry("status", "ACCEPTED").containsEntry("driverId", "driver-1");
+        assertThat(mappedQuery(readBack.getValue()))
+                .containsOnlyKeys("_id", "statusUpdateId")
+                .containsEntry("statusUpdateId", set.get("statusUpdateId"));
+    }
+
+    private Document mappedQuery(Query query) {
+        return new QueryMapper(converter).getMappedObject(query.getQueryObject(), rideEntity);
+    }
+
+    private Document mappedUpdate(Update update) {
+        return new UpdateMapper(converter).getMappedObject(update.getUpdateObject(), rideEntity);
+    }
+}
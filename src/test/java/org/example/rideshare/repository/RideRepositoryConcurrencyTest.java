@@ -0,0 +1,110 @@
+package org.example.rideshare.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.rideshare.model.Ride;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Many drivers accept the same ride at once through the real repository. The stand-in for MongoDB only gives
+ * what the server guarantees, a findAndModify that is atomic per document, and applies the filter and update
+ * exactly as the repository mapped them, so the single winner follows from the status being part of the match.
+ */
+class RideRepositoryConcurrencyTest {
+
+    private static final String RIDE_ID = "65a4f0c2e4b0a1b2c3d4e5f6";
+    private static final int DRIVER_COUNT = 64;
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MappingMongoConverter converter =
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    private final MongoPersistentEntity<?> rideEntity = mappingContext.getRequiredPersistentEntity(Ride.class);
+    private final Document storedRide = new Document("_id", new ObjectId(RIDE_ID))
+            .append("userId", "rider")
+            .append("status", "REQUESTED")
+            .append("createdAt", new Date(0));
+
+    @Test
+    void exactlyOneOfManyConcurrentAcceptsWins() throws Exception {
+        RideRepositoryImpl rideRepository = new RideRepositoryImpl(singleDocumentMongoTemplate());
+        ExecutorService executor = Executors.newFixedThreadPool(DRIVER_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Optional<Ride>>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < DRIVER_COUNT; i++) {
+                String driverId = "driver-" + i;
+                attempts.add(executor.submit(() -> {
+                    startGate.await();
+                    return rideRepository.assignDriverIfStatus(RIDE_ID, "REQUESTED", "ACCEPTED", driverId);
+                }));
+            }
+            startGate.countDown();
+
+            List<Ride> winners = new ArrayList<>();
+            for (Future<Optional<Ride>> attempt : attempts) {
+                attempt.get(10, TimeUnit.SECONDS).ifPresent(winners::add);
+            }
+
+            assertThat(winners).hasSize(1);
+            assertThat(winners.get(0).getStatus()).isEqualTo("ACCEPTED");
+            synchronized (storedRide) {
+                assertThat(storedRide.getString("driverId")).isEqualTo(winners.get(0).getDriverId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MongoTemplate singleDocumentMongoTemplate() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Ride.class))).thenAnswer(invocation -> findAndModify(invocation.getArgument(0),
+                invocation.getArgument(1), invocation.getArgument(2)));
+        return mongoTemplate;
+    }
+
+    // Equality filters and $set are all the conditional accept uses
+    private Ride findAndModify(Query query, Update update, FindAndModifyOptions options) {
+        Document filter = new QueryMapper(converter).getMappedObject(query.getQueryObject(), rideEntity);
+        Document set = new UpdateMapper(converter).getMappedObject(update.getUpdateObject(), rideEntity)
+                .get("$set", Document.class);
+        synchronized (storedRide) {
+            for (Map.Entry<String, Object> condition : filter.entrySet()) {
+                if (!condition.getValue().equals(storedRide.get(condition.getKey()))) {
+                    return null;
+                }
+            }
+            Document before = new Document(storedRide);
+            storedRide.putAll(set);
+            return converter.read(Ride.class, options.isReturnNew() ? new Document(storedRide) : before);
+        }
+    }
+}
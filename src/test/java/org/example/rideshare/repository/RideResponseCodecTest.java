@@ -0,0 +1,70 @@
+package org.example.rideshare.repository;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.model.Ride;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideResponseCodecTest {
+
+    private static final String RIDE_ID = "65a4f0c2e4b0a1b2c3d4e5f6";
+    private static final Date CREATED_AT = new Date(1_705_312_800_000L);
+
+    private final RideResponseCodec codec = new RideResponseCodec();
+    private final MappingMongoConverter converter =
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+
+    @Test
+    void encodesTheDocumentTheEntityMappingStores() {
+        Ride ride = new Ride(RIDE_ID, "rider", "driver-1", "Station", "Airport",
+                new GeoJsonPoint(new Point(-73.98, 40.75)), new GeoJsonPoint(new Point(-73.78, 40.64)),
+                "ACCEPTED", CREATED_AT, null, null);
+        converter.afterPropertiesSet();
+        Document stored = new Document();
+        converter.write(ride, stored);
+        stored.remove("_class");
+
+        assertThat(encode(response(RIDE_ID, "driver-1", -73.98, 40.75)))
+                .isEqualTo(stored.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
+    @Test
+    void encodedRidesDecodeUnchanged() {
+        RideResponse located = response(RIDE_ID, "driver-1", -73.98, 40.75);
+        RideResponse unassignedWithoutCoordinates = response("imported-ride", null, null, null);
+
+        assertThat(decode(encode(located))).isEqualTo(located);
+        assertThat(decode(encode(unassignedWithoutCoordinates))).isEqualTo(unassignedWithoutCoordinates);
+    }
+
+    private static RideResponse response(String id, String driverId, Double pickupLongitude, Double pickupLatitude) {
+        return new RideResponse(id, "rider", driverId, "Station", "Airport", pickupLatitude, pickupLongitude,
+                pickupLatitude == null ? null : 40.64, pickupLongitude == null ? null : -73.78, "ACCEPTED",
+                CREATED_AT);
+    }
+
+    private BsonDocument encode(RideResponse ride) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), ride, EncoderContext.builder().build());
+        return document;
+    }
+
+    private RideResponse decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.AuthResponse;
+import org.example.rideshare.dto.LoginRequest;
+import org.example.rideshare.exception.ServiceUnavailableException;
+import org.example.rideshare.model.User;
+import org.example.rideshare.repository.ReactiveUserRepository;
+import org.example.rideshare.repository.UserRepository;
+import org.example.rideshare.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login after {@code security.bcrypt.strength} is raised: every stored hash needs an upgrade, and the upgrade must not
+ * turn a correct password into a failed login when the hashing pool is saturated.
+ */
+class AuthServiceTest {
+
+    private static final String USERNAME = "alice";
+    private static final String PASSWORD = "secret";
+    private static final String OLD_HASH = "$2a$04$old";
+
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final UserCredentialsCache credentialsCache =
+            new UserCredentialsCache(new SimpleMeterRegistry(), 1_000, 300, 30);
+
+    @Test
+    void loginSucceedsWhenTheUpgradeRehashIsRejected() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(storedUser()));
+        when(passwordHashingService.matches(PASSWORD, OLD_HASH)).thenReturn(true);
+        when(passwordHashingService.needsRehash(OLD_HASH)).thenReturn(true);
+        when(passwordHashingService.encode(PASSWORD)).thenThrow(overloaded());
+        when(jwtUtil.generateToken(USERNAME, "ROLE_USER")).thenReturn("token");
+        AuthService authService = new AuthService(userRepository, passwordHashingService, jwtUtil, credentialsCache);
+
+        AuthResponse response = authService.login(new LoginRequest(USERNAME, PASSWORD));
+
+        assertThat(response.getToken()).isEqualTo("token");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void reactiveLoginSucceedsWhenTheUpgradeRehashIsRejected() {
+        ReactiveUserRepository userRepository = mock(ReactiveUserRepository.class);
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Mono.just(storedUser()));
+        when(passwordHashingService.matchesAsync(PASSWORD, OLD_HASH))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingService.needsRehash(OLD_HASH)).thenReturn(true);
+        when(passwordHashingService.encodeAsync(anyString())).thenReturn(CompletableFuture.failedFuture(overloaded()));
+        when(jwtUtil.generateToken(USERNAME, "ROLE_USER")).thenReturn("token");
+        ReactiveAuthService authService =
+                new ReactiveAuthService(userRepository, passwordHashingService, jwtUtil, credentialsCache);
+
+        AuthResponse response = authService.login(new LoginRequest(USERNAME, PASSWORD)).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getToken()).isEqualTo("token");
+        verify(userRepository, never()).save(any());
+    }
+
+    private static User storedUser() {
+        User user = new User();
+        user.setId("u1");
+        user.setUsername(USERNAME);
+        user.setPassword(OLD_HASH);
+        user.setRole("ROLE_USER");
+        return user;
+    }
+
+    private static ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException("Authentication is temporarily overloaded, please retry", 1);
+    }
+}
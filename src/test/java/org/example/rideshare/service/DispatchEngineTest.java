@@ -0,0 +1,200 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.DriverAvailabilityRequest;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.repository.RideRepository;
+import org.example.rideshare.util.RideCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DispatchEngineTest {
+
+    private static final double MAX_DISTANCE_METERS = 5_000;
+    private static final int AVAILABILITY_TTL_SECONDS = 60;
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final MockClock meterClock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, meterClock);
+
+    private RideService rideService;
+    private PendingRideIndex pendingRideIndex;
+    private DriverAvailabilityService driverAvailabilityService;
+    private DispatchEngine dispatchEngine;
+
+    @BeforeEach
+    void setUp() {
+        rideService = mock(RideService.class);
+        pendingRideIndex = mock(PendingRideIndex.class);
+        when(pendingRideIndex.isReady()).thenReturn(true);
+        when(rideService.assignDrivers(anyMap())).thenAnswer(invocation -> {
+            Map<String, String> driverIdsByRideId = invocation.getArgument(0);
+            meterClock.add(Duration.ofMillis(20));
+            List<RideResponse> assigned = new ArrayList<>();
+            driverIdsByRideId.forEach((rideId, driverId) -> assigned.add(ride(rideId, driverId, 0, 0)));
+            // RideService publishes an ACCEPTED event per assigned ride
+            assigned.forEach(ride -> driverAvailabilityService.onRideEvent(
+                    new RideEvent(RideEventType.ACCEPTED, ride)));
+            return assigned;
+        });
+        driverAvailabilityService = new DriverAvailabilityService(clock, AVAILABILITY_TTL_SECONDS, meterRegistry);
+        dispatchEngine = new DispatchEngine(rideService, mock(RideRepository.class), pendingRideIndex,
+                driverAvailabilityService, 100, MAX_DISTANCE_METERS, 16, 1_000, meterRegistry);
+    }
+
+    @Test
+    void optimalMatchingMinimisesTotalPickupDistance() {
+        // Greedy gives the older ride its nearest driver and leaves the other ride the far one (~1.1 + 4.4 km);
+        // the other way round costs ~2.2 + 1.1 km
+        List<RideResponse> rides = List.of(ride("old", null, 0, 0.01), ride("new", null, 0, 0.03));
+        List<AvailableDriver> drivers = List.of(driver("d1", 0, 0.02), driver("d2", 0, -0.01));
+
+        List<DispatchMatcher.Assignment> greedy = DispatchMatcher.match(
+                rides, drivers, DispatchMatcher.Algorithm.GREEDY, MAX_DISTANCE_METERS);
+        List<DispatchMatcher.Assignment> optimal = DispatchMatcher.match(
+                rides, drivers, DispatchMatcher.Algorithm.OPTIMAL, MAX_DISTANCE_METERS);
+
+        assertThat(greedy).hasSize(2);
+        assertThat(optimal).hasSize(2);
+        assertThat(totalDistance(optimal)).isLessThan(totalDistance(greedy));
+        assertThat(optimal).extracting(assignment -> assignment.driver().driverId()).containsExactly("d2", "d1");
+    }
+
+    @Test
+    void neverPairsBeyondTheMaximumDistanceAndPrefersMorePairs() {
+        List<RideResponse> rides = List.of(ride("near", null, 0, 0), ride("far", null, 1, 1), ride("mid", null, 0, 0.02));
+        List<AvailableDriver> drivers = List.of(driver("d1", 0, 0.01), driver("d2", 0, 0.03));
+
+        for (DispatchMatcher.Algorithm algorithm : DispatchMatcher.Algorithm.values()) {
+            List<DispatchMatcher.Assignment> assignments = DispatchMatcher.match(
+                    rides, drivers, algorithm, MAX_DISTANCE_METERS);
+            assertThat(assignments).extracting(assignment -> assignment.ride().getId())
+                    .containsExactlyInAnyOrder("near", "mid");
+            assertThat(assignments).allMatch(assignment -> assignment.distanceMeters() <= MAX_DISTANCE_METERS);
+        }
+    }
+
+    @Test
+    void dispatchesToDriversWhoseAvailabilityHasNotLapsed() {
+        when(pendingRideIndex.page(null, 100)).thenReturn(List.of(
+                ride("r1", null, 0, 0), ride("r2", null, 0, 0.02), ride("no-pickup", null, null, null)));
+        driverAvailabilityService.updateAvailability("stale", availableAt(0, 0.001));
+        clock.advance(Duration.ofSeconds(AVAILABILITY_TTL_SECONDS - 10));
+        driverAvailabilityService.updateAvailability("fresh", availableAt(0, 0.021));
+        clock.advance(Duration.ofSeconds(20));
+
+        List<RideResponse> assigned = dispatchEngine.dispatchBatch();
+
+        assertThat(assigned).extracting(RideResponse::getId, RideResponse::getDriverId)
+                .containsExactly(tuple("r2", "fresh"));
+        assertThat(driverAvailabilityService.getAvailableDrivers()).isEmpty();
+        assertThat(meterRegistry.get("rides.dispatch.matches").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rides.dispatch.batch").tag("algorithm", "optimal").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+    }
+
+    @Test
+    void skipsTheBulkWriteWhenNothingMatches() {
+        when(pendingRideIndex.page(null, 100)).thenReturn(List.of(ride("r1", null, 10, 10)));
+        driverAvailabilityService.updateAvailability("d1", availableAt(0, 0));
+
+        assertThat(dispatchEngine.dispatchBatch()).isEmpty();
+        verify(rideService, never()).assignDrivers(anyMap());
+        assertThat(driverAvailabilityService.getAvailableDrivers()).hasSize(1);
+    }
+
+    @Test
+    void driversWhoAcceptARideByHandLeaveThePool() {
+        when(pendingRideIndex.page(null, 100)).thenReturn(List.of(ride("r2", null, 0, 0)));
+        driverAvailabilityService.updateAvailability("d1", availableAt(0, 0));
+        driverAvailabilityService.updateAvailability("d2", availableAt(0, 0.01));
+
+        driverAvailabilityService.onRideEvent(new RideEvent(RideEventType.ACCEPTED, ride("r1", "d1", 0, 0)));
+        List<RideResponse> assigned = dispatchEngine.dispatchBatch();
+
+        assertThat(assigned).extracting(RideResponse::getId, RideResponse::getDriverId)
+                .containsExactly(tuple("r2", "d2"));
+        assertThat(driverAvailabilityService.getAvailableDrivers()).isEmpty();
+    }
+
+    @Test
+    void driversWhoAcceptByHandWhileTheBatchIsMatchedAreNotDispatched() {
+        when(pendingRideIndex.page(null, 100)).thenAnswer(invocation -> {
+            // d1 accepts r0 by hand after the drivers were read but before the bulk write
+            driverAvailabilityService.onRideEvent(new RideEvent(RideEventType.ACCEPTED, ride("r0", "d1", 0, 0)));
+            return List.of(ride("r1", null, 0, 0), ride("r2", null, 0, 0.02));
+        });
+        driverAvailabilityService.updateAvailability("d1", availableAt(0, 0.001));
+        driverAvailabilityService.updateAvailability("d2", availableAt(0, 0.021));
+
+        List<RideResponse> assigned = dispatchEngine.dispatchBatch();
+
+        assertThat(assigned).extracting(RideResponse::getId, RideResponse::getDriverId)
+                .containsExactly(tuple("r2", "d2"));
+        verify(rideService).assignDrivers(Map.of("r2", "d2"));
+    }
+
+    @Test
+    void driversWhoseRideWasTakenMeanwhileReturnToThePool() {
+        when(pendingRideIndex.page(null, 100)).thenReturn(List.of(ride("r1", null, 0, 0)));
+        when(rideService.assignDrivers(anyMap())).thenReturn(List.of());
+        driverAvailabilityService.updateAvailability("d1", availableAt(0, 0.001));
+
+        assertThat(dispatchEngine.dispatchBatch()).isEmpty();
+        assertThat(driverAvailabilityService.getAvailableDrivers()).extracting(AvailableDriver::driverId)
+                .containsExactly("d1");
+    }
+
+    @Test
+    void pagesPastRidesThatNoDriverCanReach() {
+        DispatchEngine smallBatches = new DispatchEngine(rideService, mock(RideRepository.class), pendingRideIndex,
+                driverAvailabilityService, 2, MAX_DISTANCE_METERS, 16, 10, meterRegistry);
+        RideResponse unreachable = ride("far", null, 10, 10);
+        when(pendingRideIndex.page(null, 2)).thenReturn(List.of(ride("no-pickup", null, null, null), unreachable));
+        when(pendingRideIndex.page(new RideCursor(unreachable.getCreatedAt(), unreachable.getId()), 2))
+                .thenReturn(List.of(ride("near", null, 0, 0.01)));
+        driverAvailabilityService.updateAvailability("d1", availableAt(0, 0));
+
+        assertThat(smallBatches.dispatchBatch()).extracting(RideResponse::getId, RideResponse::getDriverId)
+                .containsExactly(tuple("near", "d1"));
+    }
+
+    private static double totalDistance(List<DispatchMatcher.Assignment> assignments) {
+        return assignments.stream().mapToDouble(DispatchMatcher.Assignment::distanceMeters).sum();
+    }
+
+    private static RideResponse ride(String id, String driverId, Number latitude, Number longitude) {
+        return new RideResponse(id, "rider-" + id, driverId, "A", "B",
+                latitude != null ? latitude.doubleValue() : null, longitude != null ? longitude.doubleValue() : null,
+                null, null, RideService.STATUS_REQUESTED, new Date(0));
+    }
+
+    private AvailableDriver driver(String driverId, double latitude, double longitude) {
+        return new AvailableDriver(driverId, latitude, longitude, clock.instant());
+    }
+
+    private static DriverAvailabilityRequest availableAt(double latitude, double longitude) {
+        return new DriverAvailabilityRequest(true, latitude, longitude);
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverLocationIndexTest {
+
+    private static final double CELL_SIZE_METERS = 500;
+    private static final int TTL_SECONDS = 60;
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DriverLocationIndex index =
+            new DriverLocationIndex(clock, CELL_SIZE_METERS, TTL_SECONDS, meterRegistry);
+
+    @Test
+    void nearbyDriversMatchABruteForceScan() {
+        Random random = new Random(42);
+        double[][] positions = new double[2_000][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new double[]{12.9 + random.nextDouble() * 0.2, 77.5 + random.nextDouble() * 0.2};
+            index.report("driver-" + i, positions[i][0], positions[i][1]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 12.9 + random.nextDouble() * 0.2;
+            double longitude = 77.5 + random.nextDouble() * 0.2;
+            List<Double> expected = new ArrayList<>();
+            for (double[] position : positions) {
+                double distance = DispatchMatcher.distanceMeters(latitude, longitude, position[0], position[1]);
+                if (distance <= 1_500) {
+                    expected.add(distance);
+                }
+            }
+            expected.sort(Comparator.naturalOrder());
+
+            assertThat(index.findNearby(latitude, longitude, 1_500, 2_000))
+                    .extracting(DriverLocationIndex.NearbyDriver::distanceMeters)
+                    .containsExactlyElementsOf(expected);
+            // Rings beyond the 20th nearest driver are skipped, which must not change the answer
+            assertThat(index.findNearby(latitude, longitude, 1_500, 20))
+                    .extracting(DriverLocationIndex.NearbyDriver::distanceMeters)
+                    .containsExactlyElementsOf(expected.subList(0, Math.min(20, expected.size())));
+        }
+    }
+
+    @Test
+    void searchesWrapAroundTheAntimeridian() {
+        index.report("east", 0, 179.999);
+        index.report("west", 0, -179.999);
+
+        assertThat(index.findNearby(0, 179.9999, 1_000, 10))
+                .extracting(driver -> driver.position().driverId())
+                .containsExactly("east", "west");
+    }
+
+    @Test
+    void repeatedReportsMoveTheDriverAndArePersistedOnce() {
+        index.report("d1", 12.90, 77.50);
+        index.report("d1", 12.95, 77.55);
+        index.report("d1", 12.97, 77.59);
+
+        assertThat(index.findNearby(12.90, 77.50, 1_000, 10)).isEmpty();
+        assertThat(index.findNearby(12.97, 77.59, 1_000, 10)).hasSize(1);
+        List<DriverLocationIndex.DriverPosition> drained = index.drainUnpersisted(100);
+        assertThat(drained).singleElement().satisfies(position -> {
+            assertThat(position.latitude()).isEqualTo(12.97);
+            assertThat(position.longitude()).isEqualTo(77.59);
+        });
+        assertThat(index.drainUnpersisted(100)).isEmpty();
+
+        index.markUnpersisted(drained);
+        assertThat(index.drainUnpersisted(100)).hasSize(1);
+    }
+
+    @Test
+    void driversThatStopReportingDropOut() {
+        index.report("silent", 12.97, 77.59);
+        clock.advance(Duration.ofSeconds(TTL_SECONDS / 2));
+        index.report("active", 12.97, 77.59);
+        clock.advance(Duration.ofSeconds(TTL_SECONDS / 2 + 1));
+
+        assertThat(index.findNearby(12.97, 77.59, 1_000, 10))
+                .extracting(driver -> driver.position().driverId())
+                .containsExactly("active");
+        assertThat(index.evictStale()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentReportsLeaveEachDriverInOneCell() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> reporters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                reporters.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    // Every thread moves the same 100 drivers around a 2 km square, crossing cells constantly
+                    for (int i = 0; i < 20_000; i++) {
+                        index.report("driver-" + random.nextInt(100),
+                                12.97 + random.nextDouble() * 0.02, 77.59 + random.nextDouble() * 0.02);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> reporter : reporters) {
+                reporter.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(index.findNearby(12.98, 77.60, 5_000, 1_000))
+                .extracting(driver -> driver.position().driverId())
+                .doesNotHaveDuplicates()
+                .hasSize(100);
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(meterRegistry.get("drivers.location.cells").gauge().value()).isLessThanOrEqualTo(100);
+
+        clock.advance(Duration.ofSeconds(TTL_SECONDS + 1));
+        assertThat(index.evictStale()).isEqualTo(100);
+        assertThat(meterRegistry.get("drivers.location.cells").gauge().value()).isZero();
+    }
+}
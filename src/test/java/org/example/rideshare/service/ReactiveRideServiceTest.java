@@ -0,0 +1,63 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.exception.ConflictException;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.repository.ReactiveRideRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reactive mode records into the same ride meters as {@link RideService}.
+ */
+class ReactiveRideServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReactiveRideRepository rideRepository = mock(ReactiveRideRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ReactiveRideService rideService = new ReactiveRideService(rideRepository,
+            mock(PendingRideIndex.class), mock(RideIdempotencyCache.class), mock(RideArchivePolicy.class),
+            eventPublisher, meterRegistry);
+
+    @Test
+    void acceptIsTimedAndCountedAsATransition() {
+        Ride accepted = new Ride("r1", "rider", "d1", "A", "B", null, null, RideService.STATUS_ACCEPTED,
+                new Date(0), null, null);
+        when(rideRepository.assignDriverIfStatus("r1", RideService.STATUS_REQUESTED, RideService.STATUS_ACCEPTED,
+                "d1")).thenReturn(Mono.just(accepted));
+
+        assertThat(rideService.acceptRide("r1", "d1").block()).isNotNull();
+
+        assertThat(meterRegistry.get("rides.operation").tag("operation", "accept").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rides.transitions").tag("status", RideService.STATUS_ACCEPTED).counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rides.conflicts").tag("operation", "accept").counter().count()).isZero();
+        verify(eventPublisher).publishEvent(any(RideEvent.class));
+    }
+
+    @Test
+    void rejectedAcceptIsTimedAndCountedAsAConflict() {
+        when(rideRepository.assignDriverIfStatus("r1", RideService.STATUS_REQUESTED, RideService.STATUS_ACCEPTED,
+                "d1")).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> rideService.acceptRide("r1", "d1").block()).isInstanceOf(ConflictException.class);
+
+        assertThat(meterRegistry.get("rides.operation").tag("operation", "accept").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rides.conflicts").tag("operation", "accept").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rides.transitions").tag("status", RideService.STATUS_ACCEPTED).counter()
+                .count()).isZero();
+        verify(eventPublisher, never()).publishEvent(any(RideEvent.class));
+    }
+}
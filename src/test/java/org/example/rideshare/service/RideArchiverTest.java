@@ -0,0 +1,94 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.repository.RideRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RideArchiverTest {
+
+    private static final int RETENTION_DAYS = 7;
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_BATCHES_PER_RUN = 3;
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final RideArchivePolicy archivePolicy = new RideArchivePolicy(clock, RETENTION_DAYS);
+    private final RideRepository rideRepository = mock(RideRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RideArchiver archiver = new RideArchiver(
+            rideRepository, archivePolicy, BATCH_SIZE, 0, MAX_BATCHES_PER_RUN, meterRegistry);
+
+    @Test
+    void archivesFinishedRidesOlderThanTheRetentionWindowUntilABatchComesBackShort() {
+        Date cutoff = Date.from(Instant.parse("2024-01-08T10:00:00Z"));
+        when(rideRepository.archiveByStatusCreatedBefore(RideArchivePolicy.ARCHIVED_STATUSES, cutoff, BATCH_SIZE))
+                .thenReturn(BATCH_SIZE, 40);
+
+        archiver.archive();
+
+        verify(rideRepository, times(2)).archiveByStatusCreatedBefore(any(), any(), anyInt());
+        assertThat(meterRegistry.get("rides.archived").counter().count()).isEqualTo(BATCH_SIZE + 40);
+    }
+
+    @Test
+    void aFailedBatchEndsTheRunAndALargeBacklogWaitsForTheNext() {
+        when(rideRepository.archiveByStatusCreatedBefore(any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE)
+                .thenThrow(new DataAccessResourceFailureException("timed out"))
+                .thenReturn(BATCH_SIZE);
+
+        archiver.archive();
+        verify(rideRepository, times(2)).archiveByStatusCreatedBefore(any(), any(), anyInt());
+
+        archiver.archive();
+        verify(rideRepository, times(2 + MAX_BATCHES_PER_RUN)).archiveByStatusCreatedBefore(any(), any(), anyInt());
+    }
+
+    @Test
+    void historyReadsTheArchiveOnlyWhenThePageReachesPastTheRetentionWindow() {
+        List<RideResponse> recentPage = List.of(ride("c", "2024-01-14T10:00:00Z"), ride("b", "2024-01-13T10:00:00Z"));
+        List<RideResponse> olderPage = List.of(ride("c", "2024-01-14T10:00:00Z"), ride("a", "2024-01-02T10:00:00Z"));
+
+        assertThat(archivePolicy.mayIncludeArchivedRides(recentPage, 2)).isFalse();
+        assertThat(archivePolicy.mayIncludeArchivedRides(recentPage, 3)).isTrue();
+        assertThat(archivePolicy.mayIncludeArchivedRides(olderPage, 2)).isTrue();
+    }
+
+    @Test
+    void mergedHistoryIsNewestFirstAndKeepsARideCaughtMidArchiveOnce() {
+        List<RideResponse> live = List.of(
+                ride("d", "2024-01-14T10:00:00Z"), ride("b", "2024-01-01T10:00:00Z"));
+        List<RideResponse> archived = List.of(
+                ride("c", "2024-01-05T10:00:00Z"), ride("b", "2024-01-01T10:00:00Z"),
+                ride("a", "2024-01-01T10:00:00Z"));
+
+        assertThat(RideService.mergeNewestFirst(live, archived, 10))
+                .extracting(RideResponse::getId)
+                .containsExactly("d", "c", "b", "a");
+        assertThat(RideService.mergeNewestFirst(live, archived, 2))
+                .extracting(RideResponse::getId)
+                .containsExactly("d", "c");
+    }
+
+    private static RideResponse ride(String id, String createdAt) {
+        RideResponse ride = new RideResponse();
+        ride.setId(id);
+        ride.setStatus(RideService.STATUS_COMPLETED);
+        ride.setCreatedAt(Date.from(Instant.parse(createdAt)));
+        return ride;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RideExpirySweeperTest {
+
+    private static final int MAX_AGE_SECONDS = 900;
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_BATCHES_PER_RUN = 3;
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final RideService rideService = mock(RideService.class);
+    private final RideExpirySweeper sweeper = new RideExpirySweeper(
+            rideService, clock, MAX_AGE_SECONDS, BATCH_SIZE, 0, MAX_BATCHES_PER_RUN, new SimpleMeterRegistry());
+
+    @Test
+    void expiresRidesOlderThanTheMaxAgeUntilABatchComesBackShort() {
+        Date cutoff = Date.from(Instant.parse("2024-01-15T09:45:00Z"));
+        when(rideService.expireRequestedRides(cutoff, BATCH_SIZE)).thenReturn(BATCH_SIZE, 40);
+
+        sweeper.sweep();
+
+        verify(rideService, times(2)).expireRequestedRides(cutoff, BATCH_SIZE);
+    }
+
+    @Test
+    void leavesTheRestOfALargeBacklogForTheNextRun() {
+        when(rideService.expireRequestedRides(any(), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE);
+
+        sweeper.sweep();
+
+        verify(rideService, times(MAX_BATCHES_PER_RUN)).expireRequestedRides(any(), anyInt());
+    }
+
+    @Test
+    void aFailedBatchEndsTheRun() {
+        when(rideService.expireRequestedRides(any(), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE)
+                .thenThrow(new DataAccessResourceFailureException("timed out"));
+
+        sweeper.sweep();
+
+        verify(rideService, times(2)).expireRequestedRides(any(), anyInt());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideHistoryCacheTest {
+
+    private static final String USER_ID = "rider";
+
+    private final RideHistoryCache cache = new RideHistoryCache(new SimpleMeterRegistry(), 1_000, 3, 60);
+
+    @Test
+    void createdRidesArePrependedAndTheListTrimmed() {
+        cache.getRecentRides(USER_ID, userId -> List.of(ride("r3"), ride("r2"), ride("r1")));
+
+        cache.onRideEvent(new RideEvent(RideEventType.CREATED, ride("r4")));
+
+        assertThat(cachedRideIds()).containsExactly("r4", "r3", "r2");
+    }
+
+    @Test
+    void updatesReplaceCachedRidesAndIgnoreRidesOutsideTheWindow() {
+        cache.getRecentRides(USER_ID, userId -> List.of(ride("r2"), ride("r1")));
+        RideResponse accepted = ride("r1");
+        accepted.setStatus(RideService.STATUS_ACCEPTED);
+
+        cache.onRideEvent(new RideEvent(RideEventType.ACCEPTED, accepted));
+        cache.onRideEvent(new RideEvent(RideEventType.COMPLETED, ride("r0")));
+
+        List<RideResponse> rides = cache.getRecentRides(USER_ID, userId -> List.of());
+        assertThat(rides).extracting(RideResponse::getId).containsExactly("r2", "r1");
+        assertThat(rides).extracting(RideResponse::getStatus)
+                .containsExactly(RideService.STATUS_REQUESTED, RideService.STATUS_ACCEPTED);
+    }
+
+    @Test
+    void createdEventForARideTheLoadAlreadyReadIsNotDuplicated() {
+        // The load ran after the insert committed but before the CREATED event was published
+        cache.getRecentRides(USER_ID, userId -> List.of(ride("r2"), ride("r1")));
+
+        cache.onRideEvent(new RideEvent(RideEventType.CREATED, ride("r2")));
+
+        assertThat(cachedRideIds()).containsExactly("r2", "r1");
+    }
+
+    @Test
+    void eventsForUsersWithoutACachedListAreIgnored() {
+        cache.onRideEvent(new RideEvent(RideEventType.CREATED, ride("r1")));
+
+        assertThat(cachedRideIds()).isEmpty();
+    }
+
+    private List<String> cachedRideIds() {
+        return cache.getRecentRides(USER_ID, userId -> List.of()).stream().map(RideResponse::getId).toList();
+    }
+
+    private static RideResponse ride(String id) {
+        return new RideResponse(id, USER_ID, null, "A", "B", null, null, null, null,
+                RideService.STATUS_REQUESTED, new Date(0));
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.CreateRideRequest;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.exception.ConflictException;
+import org.example.rideshare.model.Ride;
+import org.example.rideshare.repository.RideRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RideServiceConcurrencyTest {
+
+    private static final String RIDE_ID = "ride-1";
+    private static final int DRIVER_COUNT = 64;
+    private static final int DUPLICATE_REQUEST_COUNT = 16;
+
+    private RideRepository rideRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private RideService rideService;
+
+    // Stands in for the ride document; compareAndSet mirrors the server-side match on _id + status, which
+    // RideQueriesTest checks in the documents sent to MongoDB and RideRepositoryConcurrencyTest races through
+    // the real repository.
+    private final AtomicReference<Ride> storedRide = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        Ride ride = new Ride();
+        ride.setId(RIDE_ID);
+        ride.setUserId("rider");
+        ride.setPickupLocation("A");
+        ride.setDropLocation("B");
+        ride.setStatus("REQUESTED");
+        ride.setCreatedAt(new Date());
+        storedRide.set(ride);
+        rideRepository = mock(RideRepository.class);
+        when(rideRepository.assignDriverIfStatus(eq(RIDE_ID), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    String expectedStatus = invocation.getArgument(1);
+                    String newStatus = invocation.getArgument(2);
+                    String driverId = invocation.getArgument(3);
+                    Ride current = storedRide.get();
+                    if (!expectedStatus.equals(current.getStatus())) {
+                        return Optional.empty();
+                    }
+                    Ride updated = new Ride();
+                    updated.setId(current.getId());
+                    updated.setUserId(current.getUserId());
+                    updated.setDriverId(driverId);
+                    updated.setPickupLocation(current.getPickupLocation());
+                    updated.setDropLocation(current.getDropLocation());
+                    updated.setStatus(newStatus);
+                    updated.setCreatedAt(current.getCreatedAt());
+                    return storedRide.compareAndSet(current, updated) ? Optional.of(updated) : Optional.empty();
+                });
+        meterRegistry = new SimpleMeterRegistry();
+        rideService = new RideService(rideRepository, mock(PendingRideIndex.class), mock(RideHistoryCache.class),
+                mock(RideIdempotencyCache.class), mock(RideArchivePolicy.class), mock(ApplicationEventPublisher.class),
+                meterRegistry);
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentAcceptsWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(DRIVER_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<RideResponse>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < DRIVER_COUNT; i++) {
+                String driverId = "driver-" + i;
+                attempts.add(executor.submit(() -> {
+                    startGate.await();
+                    return rideService.acceptRide(RIDE_ID, driverId);
+                }));
+            }
+            startGate.countDown();
+
+            List<RideResponse> winners = new ArrayList<>();
+            int conflicts = 0;
+            for (Future<RideResponse> attempt : attempts) {
+                try {
+                    winners.add(attempt.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(winners).hasSize(1);
+            assertThat(conflicts).isEqualTo(DRIVER_COUNT - 1);
+            assertThat(winners.get(0).getStatus()).isEqualTo("ACCEPTED");
+            assertThat(winners.get(0).getDriverId()).isEqualTo(storedRide.get().getDriverId());
+            assertThat(meterRegistry.get("rides.transitions").tag("status", "ACCEPTED").counter().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("rides.conflicts").tag("operation", "accept").counter().count())
+                    .isEqualTo(DRIVER_COUNT - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(rideRepository, never()).findById(anyString());
+        verify(rideRepository, never()).save(any(Ride.class));
+    }
+
+    @Test
+    void concurrentCreatesWithTheSameIdempotencyKeyInsertOnce() throws Exception {
+        when(rideRepository.insert(any(Ride.class))).thenAnswer(invocation -> {
+            Ride ride = invocation.getArgument(0);
+            ride.setId("ride-" + System.nanoTime());
+            return ride;
+        });
+        RideService idempotentRideService = new RideService(rideRepository, mock(PendingRideIndex.class),
+                mock(RideHistoryCache.class), new RideIdempotencyCache(100, 60), mock(RideArchivePolicy.class),
+                mock(ApplicationEventPublisher.class), meterRegistry);
+        CreateRideRequest request = new CreateRideRequest();
+        request.setPickupLocation("A");
+        request.setDropLocation("B");
+
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATE_REQUEST_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<RideResponse>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < DUPLICATE_REQUEST_COUNT; i++) {
+                attempts.add(executor.submit(() -> {
+                    startGate.await();
+                    return idempotentRideService.createRide(request, "rider", "retry-key");
+                }));
+            }
+            startGate.countDown();
+
+            List<String> rideIds = new ArrayList<>();
+            for (Future<RideResponse> attempt : attempts) {
+                rideIds.add(attempt.get(10, TimeUnit.SECONDS).getId());
+            }
+
+            assertThat(rideIds).containsOnly(rideIds.get(0));
+            assertThat(meterRegistry.get("rides.transitions").tag("status", "REQUESTED").counter().count())
+                    .isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(rideRepository, times(1)).insert(any(Ride.class));
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.DriverRideSummaryResponse;
+import org.example.rideshare.dto.RidePage;
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.exception.BadRequestException;
+import org.example.rideshare.repository.DailyStatusCount;
+import org.example.rideshare.repository.RideRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RideServiceDriverHistoryTest {
+
+    private static final String DRIVER_ID = "driver-1";
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final RideRepository rideRepository = mock(RideRepository.class);
+    private final RideService rideService = new RideService(rideRepository, mock(PendingRideIndex.class),
+            mock(RideHistoryCache.class), mock(RideIdempotencyCache.class), new RideArchivePolicy(clock, 7),
+            mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+
+    @Test
+    void historyContinuesIntoTheArchiveAndPagesWithACursor() {
+        when(rideRepository.findResponsePageByDriverId(eq(DRIVER_ID), isNull(), any(), isNull(), isNull(), isNull(),
+                eq(3))).thenReturn(List.of(ride("c", "2024-01-14T10:00:00Z", RideService.STATUS_ACCEPTED)));
+        when(rideRepository.findArchivedResponsePageByDriverId(eq(DRIVER_ID), isNull(), any(), isNull(), isNull(),
+                isNull(), eq(3))).thenReturn(List.of(
+                ride("b", "2024-01-02T10:00:00Z", RideService.STATUS_COMPLETED),
+                ride("a", "2024-01-01T10:00:00Z", RideService.STATUS_CANCELLED)));
+
+        RidePage page = rideService.getDriverRides(
+                DRIVER_ID, null, Instant.parse("2023-12-01T00:00:00Z"), null, null, 2);
+
+        assertThat(page.getRides()).extracting(RideResponse::getId).containsExactly("c", "b");
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void ridesThatAreNotFinalAreNotLookedUpInTheArchive() {
+        when(rideRepository.findResponsePageByDriverId(any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        RidePage page = rideService.getDriverRides(DRIVER_ID, RideService.STATUS_ACCEPTED, null, null, null, null);
+
+        assertThat(page.getRides()).isEmpty();
+        verify(rideRepository, never())
+                .findArchivedResponsePageByDriverId(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void summaryTotalsDaysAndCompletionRatio() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-15T00:00:00Z");
+        when(rideRepository.countDriverRidesByDayAndStatus(DRIVER_ID, Date.from(from), Date.from(to)))
+                .thenReturn(List.of(
+                        new DailyStatusCount(LocalDate.parse("2024-01-02"), RideService.STATUS_COMPLETED, 3),
+                        new DailyStatusCount(LocalDate.parse("2024-01-02"), RideService.STATUS_CANCELLED, 1),
+                        new DailyStatusCount(LocalDate.parse("2024-01-05"), RideService.STATUS_COMPLETED, 5),
+                        new DailyStatusCount(LocalDate.parse("2024-01-05"), RideService.STATUS_ACCEPTED, 1)));
+
+        DriverRideSummaryResponse summary = rideService.getDriverRideSummary(DRIVER_ID, from, to);
+
+        assertThat(summary.getRides()).isEqualTo(10);
+        assertThat(summary.getStatuses()).containsEntry(RideService.STATUS_COMPLETED, 8L)
+                .containsEntry(RideService.STATUS_CANCELLED, 1L)
+                .containsEntry(RideService.STATUS_ACCEPTED, 1L);
+        assertThat(summary.getCompletionRatio()).isEqualTo(8.0 / 9);
+        assertThat(summary.getDays()).containsExactly(
+                new DriverRideSummaryResponse.Day(LocalDate.parse("2024-01-02"), 4, 3, 1),
+                new DriverRideSummaryResponse.Day(LocalDate.parse("2024-01-05"), 6, 5, 0));
+    }
+
+    @Test
+    void summaryWithoutFinishedRidesHasNoRatioAndLongRangesAreRejected() {
+        Instant to = Instant.parse("2024-01-15T00:00:00Z");
+        when(rideRepository.countDriverRidesByDayAndStatus(any(), any(), any())).thenReturn(List.of());
+
+        DriverRideSummaryResponse summary = rideService.getDriverRideSummary(DRIVER_ID, null, to);
+
+        assertThat(summary.getFrom()).isEqualTo(Instant.parse("2023-12-16T00:00:00Z"));
+        assertThat(summary.getCompletionRatio()).isNull();
+        assertThat(summary.getDays()).isEmpty();
+        assertThatThrownBy(() -> rideService.getDriverRideSummary(DRIVER_ID, Instant.parse("2022-01-01T00:00:00Z"), to))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> rideService.getDriverRideSummary(DRIVER_ID, to, to))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static RideResponse ride(String id, String createdAt, String status) {
+        RideResponse ride = new RideResponse();
+        ride.setId(id);
+        ride.setDriverId(DRIVER_ID);
+        ride.setStatus(status);
+        ride.setCreatedAt(Date.from(Instant.parse(createdAt)));
+        return ride;
+    }
+}
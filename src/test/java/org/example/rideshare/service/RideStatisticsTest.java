@@ -0,0 +1,156 @@
+package org.example.rideshare.service;
+
+import org.example.rideshare.dto.RideResponse;
+import org.example.rideshare.dto.RideStatsResponse;
+import org.example.rideshare.dto.RideStatsWindow;
+import org.example.rideshare.event.RideEvent;
+import org.example.rideshare.event.RideEventType;
+import org.example.rideshare.model.RideStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideStatisticsTest {
+
+    private static final int WINDOW_HOURS = 3;
+
+    private final SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-15T10:30:00Z"));
+    private final RideStatistics statistics = new RideStatistics(clock, WINDOW_HOURS);
+
+    @Test
+    void countsTransitionsAndAcceptLatencyPerHour() {
+        record(RideEventType.CREATED, clock.instant());
+        record(RideEventType.CREATED, clock.instant());
+        clock.advance(Duration.ofMinutes(20));
+        record(RideEventType.ACCEPTED, Instant.parse("2024-01-15T10:30:00Z"));
+        clock.advance(Duration.ofMinutes(20));
+        record(RideEventType.ACCEPTED, Instant.parse("2024-01-15T10:30:00Z"));
+        record(RideEventType.CANCELLED, Instant.parse("2024-01-15T10:30:00Z"));
+
+        RideStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTransitions()).containsEntry("REQUESTED", 2L).containsEntry("ACCEPTED", 2L)
+                .containsEntry("CANCELLED", 1L).containsEntry("COMPLETED", 0L);
+        assertThat(stats.getHourly()).extracting(RideStatsWindow::getFrom).containsExactly(
+                Instant.parse("2024-01-15T09:00:00Z"), Instant.parse("2024-01-15T10:00:00Z"),
+                Instant.parse("2024-01-15T11:00:00Z"));
+        RideStatsWindow tenOClock = stats.getHourly().get(1);
+        assertThat(tenOClock.getTransitions()).containsEntry("REQUESTED", 2L).containsEntry("ACCEPTED", 1L);
+        assertThat(tenOClock.getAcceptLatencyAvgMillis()).isEqualTo(Duration.ofMinutes(20).toMillis());
+        RideStatsWindow elevenOClock = stats.getHourly().get(2);
+        assertThat(elevenOClock.getTransitions()).containsEntry("ACCEPTED", 1L).containsEntry("CANCELLED", 1L);
+        assertThat(elevenOClock.getAcceptLatencyMaxMillis()).isEqualTo(Duration.ofMinutes(40).toMillis());
+        assertThat(stats.getWindow().getAcceptLatencyAvgMillis()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThat(stats.getHourly().get(0).getAcceptLatencyAvgMillis()).isNull();
+    }
+
+    @Test
+    void hoursLeaveTheWindowButTotalsKeepCounting() {
+        record(RideEventType.CREATED, clock.instant());
+        clock.advance(Duration.ofHours(WINDOW_HOURS));
+        record(RideEventType.CREATED, clock.instant());
+
+        RideStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTransitions()).containsEntry("REQUESTED", 2L);
+        assertThat(stats.getWindow().getTransitions()).containsEntry("REQUESTED", 1L);
+        assertThat(stats.getHourly()).extracting(hour -> hour.getTransitions().get("REQUESTED"))
+                .containsExactly(0L, 0L, 1L);
+    }
+
+    @Test
+    void servesTheSharedCountsPlusWhatWasCountedSinceTheLastSync() {
+        record(RideEventType.CREATED, clock.instant());
+        RideStatistics.Flush flush = statistics.flush();
+
+        assertThat(flush.counts().getTransitions()).containsEntry("REQUESTED", 1L).containsEntry("ACCEPTED", 0L);
+        assertThat(flush.counts().getHours()).containsOnlyKeys("2024-01-15T10:00:00Z");
+        assertThat(flush.counts().getCountingSince()).isEqualTo(Date.from(clock.instant()));
+
+        // Another instance, counting since an hour earlier, has already added 4 rides and an accept
+        RideStats shared = new RideStats(RideStatsSync.CLUSTER_STATS_ID, Date.from(clock.instant().minus(
+                Duration.ofHours(1))), Date.from(clock.instant()), Map.of("REQUESTED", 5L, "ACCEPTED", 1L),
+                Map.of("2024-01-15T10:00:00Z", new RideStats.Hour(Map.of("REQUESTED", 5L, "ACCEPTED", 1L),
+                        60_000, 1, 60_000)));
+        statistics.synced(flush, shared);
+        record(RideEventType.CREATED, clock.instant());
+        RideStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getCountingSince()).isEqualTo(Instant.parse("2024-01-15T09:30:00Z"));
+        assertThat(stats.getTransitions()).containsEntry("REQUESTED", 6L).containsEntry("ACCEPTED", 1L);
+        RideStatsWindow tenOClock = stats.getHourly().get(2);
+        assertThat(tenOClock.getTransitions()).containsEntry("REQUESTED", 6L);
+        assertThat(tenOClock.getAcceptLatencyAvgMillis()).isEqualTo(60_000);
+        // Only the ride counted after the sync is added next time
+        assertThat(statistics.flush().counts().getTransitions()).containsEntry("REQUESTED", 1L);
+    }
+
+    @Test
+    void sharedHoursThatLeftTheWindowAreIgnoredAndRemoved() {
+        RideStats shared = new RideStats(RideStatsSync.CLUSTER_STATS_ID, Date.from(clock.instant()),
+                Date.from(clock.instant()), Map.of("REQUESTED", 3L),
+                Map.of("2024-01-15T06:00:00Z", new RideStats.Hour(Map.of("REQUESTED", 2L), 0, 0, 0),
+                        "2024-01-15T10:00:00Z", new RideStats.Hour(Map.of("REQUESTED", 1L), 0, 0, 0)));
+        statistics.synced(statistics.flush(), shared);
+
+        RideStatsResponse stats = statistics.snapshot();
+        assertThat(stats.getTransitions()).containsEntry("REQUESTED", 3L);
+        assertThat(stats.getWindow().getTransitions()).containsEntry("REQUESTED", 1L);
+
+        RideStatistics.Flush next = statistics.flush();
+        assertThat(next.staleHours()).containsExactly("2024-01-15T06:00:00Z");
+        assertThat(next.counts().getHours()).isEmpty();
+    }
+
+    @Test
+    void concurrentEventsAreAllCounted() throws Exception {
+        int threads = 8;
+        int eventsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        record(RideEventType.ACCEPTED, Instant.parse("2024-01-15T10:29:00Z"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        RideStatsWindow window = statistics.snapshot().getWindow();
+        assertThat(window.getTransitions()).containsEntry("ACCEPTED", (long) threads * eventsPerThread);
+        assertThat(window.getAcceptLatencyAvgMillis()).isEqualTo(Duration.ofMinutes(1).toMillis());
+    }
+
+    private void record(RideEventType type, Instant createdAt) {
+        statistics.onRideEvent(event(type, createdAt));
+    }
+
+    private static RideEvent event(RideEventType type, Instant createdAt) {
+        RideResponse ride = new RideResponse();
+        ride.setId("ride");
+        ride.setCreatedAt(Date.from(createdAt));
+        return new RideEvent(type, ride);
+    }
+}
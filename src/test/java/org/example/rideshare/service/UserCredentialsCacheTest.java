@@ -0,0 +1,131 @@
+package org.example.rideshare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.dto.RegisterRequest;
+import org.example.rideshare.model.User;
+import org.example.rideshare.repository.UserRepository;
+import org.example.rideshare.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserCredentialsCacheTest {
+
+    private static final String USERNAME = "alice";
+    private static final UserCredentials ALICE = new UserCredentials("u1", USERNAME, "hash", "ROLE_USER");
+
+    private final AtomicLong tickerNanos = new AtomicLong();
+    private final UserCredentialsCache cache =
+            new UserCredentialsCache(tickerNanos::get, new SimpleMeterRegistry(), 1_000, 300, 30);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentMissesForTheSameUsernameShareOneLoad() throws Exception {
+        int callers = 8;
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<UserCredentials>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(USERNAME, name -> {
+                    loads.incrementAndGet();
+                    loaderStarted.countDown();
+                    await(releaseLoader);
+                    return Optional.of(ALICE);
+                })));
+            }
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            // Give the other callers time to reach the cache while the first load is still running
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            for (Future<Optional<UserCredentials>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).contains(ALICE);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void unknownUsernamesExpireAfterTheNegativeTtlWhileKnownOnesStay() {
+        assertThat(cache.get("ghost", this::countedMiss)).isEmpty();
+        assertThat(cache.get(USERNAME, this::countedHit)).contains(ALICE);
+
+        tickerNanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        cache.get("ghost", this::countedMiss);
+        assertThat(loads).hasValue(2);
+
+        tickerNanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get("ghost", this::countedMiss);
+        cache.get(USERNAME, this::countedHit);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void registeringAUserDropsTheCachedUnknownEntry() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AuthService authService = new AuthService(userRepository, mock(PasswordHashingService.class),
+                mock(JwtUtil.class), cache);
+        assertThat(cache.get(USERNAME, this::countedMiss)).isEmpty();
+
+        authService.register(new RegisterRequest(USERNAME, "secret", "ROLE_USER"));
+
+        assertThat(cache.get(USERNAME, this::countedHit)).contains(ALICE);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        assertThatThrownBy(() -> cache.get(USERNAME, name -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getAsync(USERNAME, name -> {
+            loads.incrementAndGet();
+            return Mono.error(new IllegalStateException("database unavailable"));
+        }).onErrorReturn(Optional.empty()).block()).isEmpty();
+
+        assertThat(cache.getAsync(USERNAME, name -> Mono.just(countedHit(name))).block()).contains(ALICE);
+        assertThat(cache.get(USERNAME, this::countedMiss)).contains(ALICE);
+        assertThat(loads).hasValue(3);
+    }
+
+    private Optional<UserCredentials> countedHit(String username) {
+        loads.incrementAndGet();
+        return Optional.of(ALICE);
+    }
+
+    private Optional<UserCredentials> countedMiss(String username) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
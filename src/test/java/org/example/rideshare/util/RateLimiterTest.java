@@ -0,0 +1,109 @@
+package org.example.rideshare.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rideshare.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final String REQUESTS_PATH = "/api/v1/driver/rides/requests";
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final int THREAD_COUNT = 32;
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, 1_000, Duration.ofMinutes(10),
+            List.of(new RateLimitProperties.Rule("auth", "/api/auth/**", null, null, 2, 1),
+                    new RateLimitProperties.Rule("driver-requests", "/api/v1/driver/rides/requests/**", "GET",
+                            "ROLE_DRIVER", 5, 0.5))),
+            meterRegistry, nanoTime::get);
+
+    @Test
+    void rejectsOnceTheBurstIsSpentAndRefillsOverTime() {
+        Authentication driver = driver("driver-1");
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver, "10.0.0.1").permitted()).isTrue();
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver, "10.0.0.1");
+        assertThat(rejected.permitted()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(2);
+        assertThat(meterRegistry.get("rate.limit.rejections").tag("rule", "driver-requests").counter().count())
+                .isEqualTo(1);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver, "10.0.0.1").permitted()).isTrue();
+        assertThat(rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver, "10.0.0.1").permitted()).isFalse();
+    }
+
+    @Test
+    void keysAuthenticatedCallersByUsernameAndAnonymousCallersByAddress() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver("driver-1"), "10.0.0.1");
+        }
+        assertThat(rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver("driver-2"), "10.0.0.1").permitted()).isTrue();
+
+        rateLimiter.tryAcquire("POST", LOGIN_PATH, null, "10.0.0.1");
+        rateLimiter.tryAcquire("POST", LOGIN_PATH, null, "10.0.0.1");
+        assertThat(rateLimiter.tryAcquire("POST", LOGIN_PATH, null, "10.0.0.1").permitted()).isFalse();
+        assertThat(rateLimiter.tryAcquire("POST", LOGIN_PATH, null, "10.0.0.2").permitted()).isTrue();
+    }
+
+    @Test
+    void skipsRulesWhoseRoleOrMethodDoesNotMatch() {
+        Authentication user = new UsernamePasswordAuthenticationToken(
+                "rider", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        for (int i = 0; i < 20; i++) {
+            assertThat(rateLimiter.tryAcquire("GET", REQUESTS_PATH, user, "10.0.0.1").permitted()).isTrue();
+            assertThat(rateLimiter.tryAcquire("POST", REQUESTS_PATH, driver("driver-1"), "10.0.0.1").permitted())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        Authentication driver = driver("driver-1");
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                attempts.add(executor.submit(() -> {
+                    startGate.await();
+                    return rateLimiter.tryAcquire("GET", REQUESTS_PATH, driver, "10.0.0.1").permitted();
+                }));
+            }
+            startGate.countDown();
+
+            int permitted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(10, TimeUnit.SECONDS)) {
+                    permitted++;
+                }
+            }
+            assertThat(permitted).isEqualTo(5);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Authentication driver(String username) {
+        return new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_DRIVER")));
+    }
+}